@@ -36,6 +36,7 @@ import net.minecraft.nbt.NBTTagString;
 import net.minecraft.network.chat.ChatModifier;
 import net.minecraft.network.chat.IChatBaseComponent;
 import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.network.protocol.game.PacketPlayOutEntityMetadata;
 import net.minecraft.network.protocol.game.PacketPlayOutMap;
 import net.minecraft.network.syncher.DataWatcher;
@@ -277,6 +278,19 @@ public class V1_20_2 extends NMSWrapper {
         ((CraftPlayer) player).getHandle().c.b((Packet<?>) packet);
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public void sendPackets(Player player, List<?> packets) {
+        if (packets.size() == 1) {
+            sendPacket(player, packets.get(0));
+            return;
+        }
+        for (int i = 0; i < packets.size(); i += MAX_PACKETS_PER_BUNDLE) {
+            List<Object> bundle = new ArrayList<>(packets.subList(i, Math.min(packets.size(), i + MAX_PACKETS_PER_BUNDLE)));
+            sendPacket(player, new ClientboundBundlePacket((Iterable) bundle));
+        }
+    }
+
     @Override
     public CombinedMapItemInfo getCombinedMapItemInfo(ItemStack itemStack) {
         net.minecraft.world.item.ItemStack nmsItemStack = CraftItemStack.asNMSCopy(itemStack);
@@ -39,6 +39,7 @@ public abstract class NMSWrapper {
 
     public static final int COLOR_ARRAY_LENGTH = 16384;
     public static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+    public static final int MAX_PACKETS_PER_BUNDLE = 4096;
 
     public abstract void setColors(MapView mapView, byte[] colors);
 
@@ -68,6 +69,12 @@ public abstract class NMSWrapper {
 
     public abstract void sendPacket(Player player, Object packet);
 
+    public void sendPackets(Player player, List<?> packets) {
+        for (Object packet : packets) {
+            sendPacket(player, packet);
+        }
+    }
+
     public abstract CombinedMapItemInfo getCombinedMapItemInfo(ItemStack itemStack);
 
     public abstract ItemStack withCombinedMapItemInfo(ItemStack itemStack, CombinedMapItemInfo combinedMapItemInfo);
@@ -0,0 +1,67 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.benchmark;
+
+import com.loohp.imageframe.objectholders.DitheringType;
+import com.loohp.imageframe.objectholders.PaletteLookupTable;
+import com.loohp.imageframe.objectholders.PerceptualColorSpace;
+import com.loohp.imageframe.utils.MapUtils;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class BenchmarkImages {
+
+    public static final long SEED = 106031;
+
+    public static BufferedImage createImage(int mapSize) {
+        return createImage(mapSize * MapUtils.MAP_WIDTH, mapSize * MapUtils.MAP_WIDTH);
+    }
+
+    public static BufferedImage createImage(int width, int height) {
+        Random random = new Random(SEED);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int red = x * 255 / Math.max(1, width - 1);
+                int green = y * 255 / Math.max(1, height - 1);
+                int blue = ((x ^ y) & 0xFF);
+                int noise = random.nextInt(32) - 16;
+                int alpha = (x / 16 + y / 16) % 7 == 0 ? 0 : 255;
+                image.setRGB(x, y, (alpha << 24) | (clamp(red + noise) << 16) | (clamp(green + noise) << 8) | clamp(blue + noise));
+            }
+        }
+        return image;
+    }
+
+    public static void buildPaletteLookupTables() {
+        PaletteLookupTable palette = DitheringType.getPaletteLookupTable();
+        palette.build();
+        for (PerceptualColorSpace colorSpace : PerceptualColorSpace.values()) {
+            palette.getPerceptualLookupTable(colorSpace).build();
+        }
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+}
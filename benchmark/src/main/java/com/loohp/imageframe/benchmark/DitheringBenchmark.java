@@ -0,0 +1,72 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.benchmark;
+
+import com.loohp.imageframe.objectholders.DitheringType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DitheringBenchmark {
+
+    @Param({"nearest-color", "floyd-steinberg", "atkinson", "ordered-bayer-4x4", "ordered-bayer-8x8", "sierra-lite", "nearest-color-oklab", "nearest-color-cielab"})
+    public String ditheringType;
+
+    @Param({"1", "4", "16"})
+    public int mapSize;
+
+    private DitheringType type;
+    private BufferedImage image;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkImages.buildPaletteLookupTables();
+        type = DitheringType.fromNameOrNull(ditheringType);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown dithering type " + ditheringType);
+        }
+        image = BenchmarkImages.createImage(mapSize);
+    }
+
+    @Benchmark
+    public byte[] applyDithering() {
+        return type.applyDithering(image);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.benchmark;
+
+import com.loohp.imageframe.objectholders.DitheringType;
+import com.loohp.imageframe.utils.MapUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapUtilsBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int mapSize;
+
+    private BufferedImage source;
+    private BufferedImage image;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkImages.buildPaletteLookupTables();
+        source = BenchmarkImages.createImage(mapSize * MapUtils.MAP_WIDTH * 3 / 2, mapSize * MapUtils.MAP_WIDTH);
+        image = BenchmarkImages.createImage(mapSize);
+    }
+
+    @Benchmark
+    public byte[] toMapPaletteBytes() {
+        return MapUtils.toMapPaletteBytes(image, DitheringType.NEAREST_COLOR);
+    }
+
+    @Benchmark
+    public BufferedImage resize() {
+        return MapUtils.resize(source, mapSize, mapSize);
+    }
+
+    @Benchmark
+    public void getSubImage(Blackhole blackhole) {
+        for (int y = 0; y < mapSize; y++) {
+            for (int x = 0; x < mapSize; x++) {
+                blackhole.consume(MapUtils.getSubImage(image, x, y));
+            }
+        }
+    }
+
+}
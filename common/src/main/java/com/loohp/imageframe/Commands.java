@@ -24,6 +24,7 @@ import com.loohp.imageframe.api.events.ImageMapUpdatedEvent;
 import com.loohp.imageframe.migration.ExternalPluginMigration;
 import com.loohp.imageframe.migration.PluginMigrationRegistry;
 import com.loohp.imageframe.objectholders.BlockPosition;
+import com.loohp.imageframe.objectholders.DecodedImageCache;
 import com.loohp.imageframe.objectholders.DitheringType;
 import com.loohp.imageframe.objectholders.IFPlayer;
 import com.loohp.imageframe.objectholders.IFPlayerPreference;
@@ -34,11 +35,13 @@ import com.loohp.imageframe.objectholders.ImageMapCreationTask;
 import com.loohp.imageframe.objectholders.ImageMapCreationTaskManager;
 import com.loohp.imageframe.objectholders.ImageMapLoader;
 import com.loohp.imageframe.objectholders.ImageMapLoaders;
+import com.loohp.imageframe.objectholders.ImageMapMemoryUsage;
 import com.loohp.imageframe.objectholders.ItemFrameSelectionManager;
 import com.loohp.imageframe.objectholders.MapMarkerEditManager;
 import com.loohp.imageframe.objectholders.MinecraftURLOverlayImageMap;
 import com.loohp.imageframe.objectholders.MinecraftURLOverlayImageMapCreateInfo;
 import com.loohp.imageframe.objectholders.MutablePair;
+import com.loohp.imageframe.objectholders.PaletteTilePool;
 import com.loohp.imageframe.objectholders.PreferenceState;
 import com.loohp.imageframe.objectholders.URLImageMap;
 import com.loohp.imageframe.objectholders.URLImageMapCreateInfo;
@@ -57,6 +60,7 @@ import com.loohp.imageframe.utils.MCVersion;
 import com.loohp.imageframe.utils.MapUtils;
 import com.loohp.imageframe.utils.MathUtils;
 import com.loohp.imageframe.utils.PlayerUtils;
+import com.loohp.imageframe.utils.StringUtils;
 import com.loohp.platformscheduler.Scheduler;
 import java.io.IOException;
 import java.net.URLConnection;
@@ -1434,6 +1438,62 @@ public class Commands implements CommandExecutor, TabCompleter {
                 sendMessage(sender, translatable(INVALID_USAGE).color(NamedTextColor.RED));
             }
             return true;
+        } else if (args[0].equalsIgnoreCase("memory")) {
+            if (sender.hasPermission("imageframe.memory")) {
+                if (args.length > 1 && args[1].equalsIgnoreCase("evict")) {
+                    if (args.length > 2) {
+                        try {
+                            int imageId = Integer.parseInt(args[2]);
+                            ImageMap imageMap = ImageFrame.imageMapManager.getFromImageId(imageId);
+                            if (imageMap == null) {
+                                sendMessage(sender, translatable(NOT_AN_IMAGE_MAP).color(NamedTextColor.RED));
+                            } else {
+                                long before = imageMap.getColorCacheSizeInBytes() + imageMap.getDecodedImageSizeInBytes();
+                                imageMap.evictCaches();
+                                long after = imageMap.getColorCacheSizeInBytes() + imageMap.getDecodedImageSizeInBytes();
+                                sendMessage(sender, ChatColor.GREEN + "[ImageFrame] Evicted " + StringUtils.formatBytes(Math.max(0, before - after)) + " of cached data from image map " + imageId);
+                            }
+                        } catch (NumberFormatException e) {
+                            sendMessage(sender, translatable(INVALID_USAGE).color(NamedTextColor.RED));
+                        }
+                    } else {
+                        sendMessage(sender, translatable(INVALID_USAGE).color(NamedTextColor.RED));
+                    }
+                } else {
+                    int limit;
+                    try {
+                        limit = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : 10;
+                    } catch (NumberFormatException e) {
+                        sendMessage(sender, translatable(INVALID_USAGE).color(NamedTextColor.RED));
+                        return true;
+                    }
+                    Scheduler.runTaskAsynchronously(ImageFrame.plugin, () -> {
+                        List<ImageMapMemoryUsage> usages = ImageFrame.imageMapManager.getMemoryUsages(false);
+                        long colorCacheSize = 0;
+                        long decodedImageSize = 0;
+                        int fakeMapIdCount = 0;
+                        for (ImageMapMemoryUsage usage : usages) {
+                            colorCacheSize += usage.getColorCacheSizeInBytes();
+                            decodedImageSize += usage.getDecodedImageSizeInBytes();
+                            fakeMapIdCount += usage.getFakeMapIdCount();
+                        }
+                        DecodedImageCache decodedImageCache = DecodedImageCache.getInstance();
+                        PaletteTilePool tilePool = PaletteTilePool.getInstance();
+                        sendMessage(sender, ChatColor.AQUA + "[ImageFrame] Memory usage of " + usages.size() + " image maps: " + StringUtils.formatBytes(colorCacheSize + decodedImageSize));
+                        sendMessage(sender, ChatColor.GRAY + "Map colors: " + StringUtils.formatBytes(colorCacheSize) + ", decoded images: " + StringUtils.formatBytes(decodedImageSize) + ", fake map ids: " + fakeMapIdCount);
+                        sendMessage(sender, ChatColor.GRAY + "Decoded image cache: " + StringUtils.formatBytes(decodedImageCache.getSizeInBytes()) + " / " + StringUtils.formatBytes(decodedImageCache.getMaxSizeInBytes()) + ", hit ratio: " + String.format("%.1f%%", decodedImageCache.getHitRatio() * 100) + " (" + decodedImageCache.getHits() + " hits, " + decodedImageCache.getMisses() + " misses, " + decodedImageCache.getEvictions() + " evictions)");
+                        sendMessage(sender, ChatColor.GRAY + "Shared tile pool: " + tilePool.getTileCount() + " tiles, " + StringUtils.formatBytes(tilePool.getSizeInBytes()) + " (" + StringUtils.formatBytes(tilePool.getReferencedSizeInBytes()) + " referenced)");
+                        for (int i = 0; i < Math.min(limit, usages.size()); i++) {
+                            ImageMapMemoryUsage usage = ImageFrame.imageMapManager.getMemoryUsage(usages.get(i).getImageMap(), true);
+                            ImageMap imageMap = usage.getImageMap();
+                            sendMessage(sender, ChatColor.YELLOW + "" + (i + 1) + ". #" + imageMap.getImageIndex() + " " + imageMap.getCreatorName() + ":" + imageMap.getName() + ChatColor.GOLD + " " + StringUtils.formatBytes(usage.getMemorySizeInBytes()) + ChatColor.GRAY + " (colors " + StringUtils.formatBytes(usage.getColorCacheSizeInBytes()) + ", decoded " + StringUtils.formatBytes(usage.getDecodedImageSizeInBytes()) + ", fake map ids " + usage.getFakeMapIdCount() + ", disk " + (usage.getDiskSizeInBytes() < 0 ? "unknown" : StringUtils.formatBytes(usage.getDiskSizeInBytes())) + ")");
+                        }
+                    });
+                }
+            } else {
+                sendMessage(sender, translatable(NO_PERMISSION).color(NamedTextColor.RED));
+            }
+            return true;
         } else if (args[0].equalsIgnoreCase("storagemigrate")) {
             if (args.length > 1) {
                 if (sender.hasPermission("imageframe.storagemigrate")) {
@@ -1569,6 +1629,9 @@ public class Commands implements CommandExecutor, TabCompleter {
                 if (sender.hasPermission("imageframe.storagemigrate")) {
                     tab.add("storagemigrate");
                 }
+                if (sender.hasPermission("imageframe.memory")) {
+                    tab.add("memory");
+                }
                 return tab;
             case 1:
                 if (sender.hasPermission("imageframe.reload")) {
@@ -1686,6 +1749,11 @@ public class Commands implements CommandExecutor, TabCompleter {
                         tab.add("storagemigrate");
                     }
                 }
+                if (sender.hasPermission("imageframe.memory")) {
+                    if ("memory".startsWith(args[0].toLowerCase())) {
+                        tab.add("memory");
+                    }
+                }
                 return tab;
             case 2:
                 if (sender.hasPermission("imageframe.create")) {
@@ -1835,6 +1903,14 @@ public class Commands implements CommandExecutor, TabCompleter {
                         }
                     }
                 }
+                if (sender.hasPermission("imageframe.memory")) {
+                    if ("memory".equalsIgnoreCase(args[0])) {
+                        if ("evict".startsWith(args[1].toLowerCase())) {
+                            tab.add("evict");
+                        }
+                        tab.add("[count]");
+                    }
+                }
                 return tab;
             case 3:
                 if (sender.hasPermission("imageframe.create")) {
@@ -1971,6 +2047,11 @@ public class Commands implements CommandExecutor, TabCompleter {
                         }
                     }
                 }
+                if (sender.hasPermission("imageframe.memory")) {
+                    if ("memory".equalsIgnoreCase(args[0]) && "evict".equalsIgnoreCase(args[1])) {
+                        tab.add("<image-id>");
+                    }
+                }
                 return tab;
             case 4:
                 if (sender.hasPermission("imageframe.create")) {
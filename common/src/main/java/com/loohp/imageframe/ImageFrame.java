@@ -28,13 +28,18 @@ import com.loohp.imageframe.listeners.Events;
 import com.loohp.imageframe.metrics.Charts;
 import com.loohp.imageframe.metrics.Metrics;
 import com.loohp.imageframe.objectholders.AnimatedFakeMapManager;
+import com.loohp.imageframe.objectholders.AnimationFrameStoreType;
+import com.loohp.imageframe.objectholders.ByteBufferAnimationFrameStore;
 import com.loohp.imageframe.objectholders.CombinedMapItemHandler;
 import com.loohp.imageframe.objectholders.CustomClientNetworkManager;
+import com.loohp.imageframe.objectholders.DecodedImageCache;
+import com.loohp.imageframe.objectholders.DitheringType;
 import com.loohp.imageframe.objectholders.IFPlayerManager;
 import com.loohp.imageframe.objectholders.IFPlayerPreference;
 import com.loohp.imageframe.objectholders.ImageMap;
 import com.loohp.imageframe.objectholders.ImageMapAccessPermissionType;
 import com.loohp.imageframe.objectholders.ImageMapCacheControlMode;
+import com.loohp.imageframe.objectholders.ImageMapCacheControlService;
 import com.loohp.imageframe.objectholders.ImageMapCreationTaskManager;
 import com.loohp.imageframe.objectholders.ImageMapLoaders;
 import com.loohp.imageframe.objectholders.ImageMapManager;
@@ -43,6 +48,7 @@ import com.loohp.imageframe.objectholders.IntRangeList;
 import com.loohp.imageframe.objectholders.ItemFrameSelectionManager;
 import com.loohp.imageframe.objectholders.MapMarkerEditManager;
 import com.loohp.imageframe.objectholders.RateLimitedPacketSendingManager;
+import com.loohp.imageframe.objectholders.TileImageFormat;
 import com.loohp.imageframe.objectholders.UnsetState;
 import com.loohp.imageframe.placeholderapi.Placeholders;
 import com.loohp.imageframe.storage.ImageFrameStorage;
@@ -50,6 +56,7 @@ import com.loohp.imageframe.storage.ImageFrameStorageLoaders;
 import com.loohp.imageframe.updater.Updater;
 import com.loohp.imageframe.upload.ImageUploadManager;
 import com.loohp.imageframe.utils.ChatColorUtils;
+import com.loohp.imageframe.utils.DitheringUtils;
 import com.loohp.imageframe.utils.KeyUtils;
 import com.loohp.imageframe.utils.MCVersion;
 import com.loohp.imageframe.utils.ModernEventsUtils;
@@ -109,6 +116,7 @@ public class ImageFrame extends JavaPlugin {
     public static long maxImageFileSize;
     public static int maxProcessingTime;
     public static int parallelProcessingLimit;
+    public static int ditheringParallelism;
 
     public static int rateLimit;
 
@@ -117,8 +125,13 @@ public class ImageFrame extends JavaPlugin {
     public static boolean mapRenderersContextual;
     public static boolean handleAnimatedMapsOnMainThread;
     public static boolean sendAnimatedMapsOnMainThread;
+    public static boolean temporalAnimationDithering;
+    public static AnimationFrameStoreType animationFrameStoreType;
+    public static TileImageFormat tileImageFormat;
 
     public static ImageMapCacheControlMode<?> cacheControlMode;
+    public static long cacheControlMemoryBudget;
+    public static long decodedImageCacheSize;
     public static boolean tryDeleteBlankMapFiles;
 
     public static boolean combinedByDefault;
@@ -138,6 +151,7 @@ public class ImageFrame extends JavaPlugin {
 
     public static LanguageManager languageManager;
     public static ImageFrameStorage imageFrameStorage;
+    public static ImageMapCacheControlService imageMapCacheControlService;
     public static ImageMapManager imageMapManager;
     public static IFPlayerManager ifPlayerManager;
     public static ItemFrameSelectionManager itemFrameSelectionManager;
@@ -269,8 +283,14 @@ public class ImageFrame extends JavaPlugin {
             getServer().getPluginManager().registerEvents(new Events.ModernEvents(), this);
         }
 
+        DitheringUtils.setParallelism(ditheringParallelism);
+        DitheringType.getPaletteLookupTable().setCacheFolder(new File(getDataFolder(), "cache"));
+        ByteBufferAnimationFrameStore.setMappedFileFolder(new File(getDataFolder(), "cache/frames"));
+        Scheduler.runTaskAsynchronously(this, () -> DitheringType.getPaletteLookupTable().build());
+
         languageManager = new LanguageManager();
         imageFrameStorage = ImageFrameStorageLoaders.create(storageType, getDataFolder(), storageOptions);
+        imageMapCacheControlService = new ImageMapCacheControlService(cacheControlMemoryBudget);
         imageMapManager = new ImageMapManager(imageFrameStorage);
         ifPlayerManager = new IFPlayerManager(imageFrameStorage);
         itemFrameSelectionManager = new ItemFrameSelectionManager();
@@ -305,6 +325,9 @@ public class ImageFrame extends JavaPlugin {
         if (imageMapManager != null) {
             imageMapManager.close();
         }
+        if (imageMapCacheControlService != null) {
+            imageMapCacheControlService.close();
+        }
         if (combinedMapItemHandler != null) {
             combinedMapItemHandler.close();
         }
@@ -314,6 +337,7 @@ public class ImageFrame extends JavaPlugin {
         if (imageFrameStorage != null) {
             imageFrameStorage.close();
         }
+        DitheringUtils.shutdown();
         getServer().getConsoleSender().sendMessage(ChatColor.RED + "[ImageFrame] ImageFrame has been Disabled!");
     }
 
@@ -348,6 +372,7 @@ public class ImageFrame extends JavaPlugin {
         maxImageFileSize = config.getConfiguration().getLong("Settings.MaxImageFileSize");
         maxProcessingTime = config.getConfiguration().getInt("Settings.MaxProcessingTime");
         parallelProcessingLimit = config.getConfiguration().getInt("Settings.ParallelProcessingLimit");
+        ditheringParallelism = config.getConfiguration().getInt("Settings.DitheringParallelism");
 
         exemptMapIdsFromDeletion = config.getConfiguration().getList("Settings.ExemptMapIdsFromDeletion").stream().map(v -> {
             try {
@@ -367,8 +392,17 @@ public class ImageFrame extends JavaPlugin {
         mapRenderersContextual = config.getConfiguration().getBoolean("Settings.MapRenderersContextual");
         handleAnimatedMapsOnMainThread = config.getConfiguration().getBoolean("Settings.HandleAnimatedMapsOnMainThread");
         sendAnimatedMapsOnMainThread = config.getConfiguration().getBoolean("Settings.SendAnimatedMapsOnMainThread");
+        temporalAnimationDithering = config.getConfiguration().getBoolean("Settings.TemporalAnimationDithering");
+        animationFrameStoreType = AnimationFrameStoreType.valueOf(config.getConfiguration().getString("Settings.AnimationFrameStore").toUpperCase());
+        tileImageFormat = TileImageFormat.valueOf(config.getConfiguration().getString("Settings.TileImageFormat").toUpperCase());
 
         cacheControlMode = ImageMapCacheControlMode.valueOf(config.getConfiguration().getString("Settings.CacheControlMode"));
+        cacheControlMemoryBudget = config.getConfiguration().getLong("Settings.CacheControlMemoryBudget") * 1024 * 1024;
+        if (imageMapCacheControlService != null) {
+            imageMapCacheControlService.setMemoryBudget(cacheControlMemoryBudget);
+        }
+        decodedImageCacheSize = config.getConfiguration().getLong("Settings.DecodedImageCacheSize") * 1024 * 1024;
+        DecodedImageCache.getInstance().setMaxSizeInBytes(decodedImageCacheSize);
         tryDeleteBlankMapFiles = config.getConfiguration().getBoolean("Settings.TryDeleteBlankMapFiles");
 
         combinedByDefault = config.getConfiguration().getBoolean("Settings.CombinedByDefault");
@@ -20,11 +20,10 @@
 
 package com.loohp.imageframe.media;
 
-import java.awt.image.BufferedImage;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class TimedMediaFrameIterator implements Iterator<BufferedImage> {
+public class TimedMediaFrameIterator implements Iterator<MediaFrame> {
 
     private final Iterator<MediaFrame> backing;
     private final int stepMs;
@@ -44,30 +43,42 @@ public class TimedMediaFrameIterator implements Iterator<BufferedImage> {
         }
     }
 
+    public int getStepMs() {
+        return stepMs;
+    }
+
     @Override
     public boolean hasNext() {
         return !finished;
     }
 
     @Override
-    public BufferedImage next() {
+    public MediaFrame next() {
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
         MediaFrame result = current;
         if (current.getDurationMs() == -1) {
-            return result.getImage();
+            finished = true;
+            return MediaFrame.animatedFrame(result.getImage(), stepMs);
         }
-        elapsedInFrame += stepMs;
-        while (current.getDurationMs() != -1 && elapsedInFrame >= current.getDurationMs()) {
-            elapsedInFrame -= current.getDurationMs();
-            if (backing.hasNext()) {
-                current = backing.next();
-            } else {
-                finished = true;
-                break;
+        int steps = 0;
+        while (!finished && current == result) {
+            steps++;
+            elapsedInFrame += stepMs;
+            while (elapsedInFrame >= current.getDurationMs()) {
+                elapsedInFrame -= current.getDurationMs();
+                if (backing.hasNext()) {
+                    current = backing.next();
+                    if (current.getDurationMs() == -1) {
+                        break;
+                    }
+                } else {
+                    finished = true;
+                    break;
+                }
             }
         }
-        return result.getImage();
+        return MediaFrame.animatedFrame(result.getImage(), steps * stepMs);
     }
 }
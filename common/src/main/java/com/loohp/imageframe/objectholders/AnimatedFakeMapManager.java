@@ -21,6 +21,7 @@
 package com.loohp.imageframe.objectholders;
 
 import com.loohp.imageframe.ImageFrame;
+import com.loohp.imageframe.api.events.ImageMapAddedEvent;
 import com.loohp.imageframe.api.events.ImageMapUpdatedEvent;
 import com.loohp.imageframe.hooks.viaversion.ViaHook;
 import com.loohp.imageframe.nms.NMS;
@@ -31,25 +32,32 @@ import com.loohp.platformscheduler.Scheduler;
 import com.loohp.platformscheduler.platform.folia.FoliaScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
-import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityEvent;
 import org.bukkit.event.entity.EntityTeleportEvent;
+import org.bukkit.event.hanging.HangingBreakEvent;
 import org.bukkit.event.hanging.HangingPlaceEvent;
+import org.bukkit.event.player.PlayerEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.MapMeta;
 import org.bukkit.map.MapView;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,34 +73,178 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class AnimatedFakeMapManager implements Listener, Runnable {
 
+    public static final int ITEM_REFRESH_INTERVAL = 10;
+
     private final Map<UUID, TrackedItemFrameData> itemFrames;
-    private final Map<Player, Set<Integer>> knownMapIds;
-    private final Map<Player, Set<Integer>> pendingKnownMapIds;
+    private final Map<Player, FakeMapIdSet> knownMapIds;
+    private final Map<Player, FakeMapIdSet> pendingKnownMapIds;
+    private final Map<Player, Map<Integer, Integer>> lastSentMapIds;
+    private final AtomicBoolean rescanScheduled;
+    private final boolean trackerEvents;
+    private int tick;
 
     public AnimatedFakeMapManager() {
         this.itemFrames = new ConcurrentHashMap<>();
         this.knownMapIds = new ConcurrentHashMap<>();
         this.pendingKnownMapIds = new ConcurrentHashMap<>();
+        this.lastSentMapIds = new ConcurrentHashMap<>();
+        this.rescanScheduled = new AtomicBoolean(false);
+        this.tick = 0;
         Scheduler.runTaskTimerAsynchronously(ImageFrame.plugin, this, 0, 1);
         Bukkit.getPluginManager().registerEvents(this, ImageFrame.plugin);
         if (ModernEventsUtils.modernEventsExists()) {
             Bukkit.getPluginManager().registerEvents(new ModernEvents(), ImageFrame.plugin);
         }
+        this.trackerEvents = registerTrackerEvents();
+        scanLoadedItemFrames();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            knownMapIds.put(player, new FakeMapIdSet());
+            pendingKnownMapIds.put(player, new FakeMapIdSet());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean registerTrackerEvents() {
+        try {
+            Class<? extends Event> trackEventClass = (Class<? extends Event>) Class.forName("io.papermc.paper.event.player.PlayerTrackEntityEvent");
+            Class<? extends Event> untrackEventClass = (Class<? extends Event>) Class.forName("io.papermc.paper.event.player.PlayerUntrackEntityEvent");
+            Method trackGetEntity = trackEventClass.getMethod("getEntity");
+            Method untrackGetEntity = untrackEventClass.getMethod("getEntity");
+            Bukkit.getPluginManager().registerEvent(trackEventClass, this, EventPriority.MONITOR, (listener, event) -> {
+                if (trackEventClass.isInstance(event)) {
+                    try {
+                        handleTrack(((PlayerEvent) event).getPlayer(), trackGetEntity.invoke(event), true);
+                    } catch (ReflectiveOperationException e) {
+                        throw new EventException(e);
+                    }
+                }
+            }, ImageFrame.plugin, true);
+            Bukkit.getPluginManager().registerEvent(untrackEventClass, this, EventPriority.MONITOR, (listener, event) -> {
+                if (untrackEventClass.isInstance(event)) {
+                    try {
+                        handleTrack(((PlayerEvent) event).getPlayer(), untrackGetEntity.invoke(event), false);
+                    } catch (ReflectiveOperationException e) {
+                        throw new EventException(e);
+                    }
+                }
+            }, ImageFrame.plugin, true);
+            try {
+                Class<? extends Event> removeEventClass = (Class<? extends Event>) Class.forName("com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent");
+                Bukkit.getPluginManager().registerEvent(removeEventClass, this, EventPriority.MONITOR, (listener, event) -> {
+                    if (removeEventClass.isInstance(event)) {
+                        removeEntity(((EntityEvent) event).getEntity());
+                    }
+                }, ImageFrame.plugin, true);
+            } catch (ClassNotFoundException ignore) {
+            }
+            return true;
+        } catch (ClassNotFoundException | NoSuchMethodException | ClassCastException e) {
+            return false;
+        }
+    }
+
+    private void handleTrack(Player player, Object entity, boolean track) {
+        if (!(entity instanceof ItemFrame)) {
+            return;
+        }
+        ItemFrame itemFrame = (ItemFrame) entity;
+        TrackedItemFrameData data = itemFrames.get(itemFrame.getUniqueId());
+        if (data == null) {
+            return;
+        }
+        if (track) {
+            data.getViewers().add(player);
+        } else {
+            data.getViewers().remove(player);
+        }
+        Map<Integer, Integer> sentMapIds = lastSentMapIds.get(player);
+        if (sentMapIds != null) {
+            sentMapIds.remove(itemFrame.getEntityId());
+        }
+    }
+
+    private void scanLoadedItemFrames() {
         for (World world : Bukkit.getWorlds()) {
-            for (Entity entity : world.getEntities()) {
-                Scheduler.executeOrScheduleSync(ImageFrame.plugin, () -> handleEntity(entity), entity);
+            for (ItemFrame itemFrame : world.getEntitiesByClass(ItemFrame.class)) {
+                Scheduler.executeOrScheduleSync(ImageFrame.plugin, () -> handleEntity(itemFrame), itemFrame);
             }
         }
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            knownMapIds.put(player, ConcurrentHashMap.newKeySet());
-            pendingKnownMapIds.put(player, ConcurrentHashMap.newKeySet());
+    }
+
+    private Set<Player> getTrackedPlayers(ItemFrame itemFrame) {
+        if (Scheduler.getPlatform() instanceof FoliaScheduler) {
+            try {
+                //noinspection deprecation
+                return itemFrame.getTrackedPlayers();
+            } catch (Throwable ignore) {
+            }
+        }
+        return NMS.getInstance().getEntityTrackers(itemFrame);
+    }
+
+    private Map<UUID, ItemFrameInfo> collectItemFramesInfo(boolean async) {
+        Map<UUID, ItemFrameInfo> frameInfos = new HashMap<>();
+        if (trackerEvents) {
+            if (++tick % ITEM_REFRESH_INTERVAL == 0) {
+                refreshTrackedItems(async);
+            }
+            for (Map.Entry<UUID, TrackedItemFrameData> entry : itemFrames.entrySet()) {
+                TrackedItemFrameData data = entry.getValue();
+                Set<Player> viewers = data.getViewers();
+                if (!viewers.isEmpty()) {
+                    frameInfos.put(entry.getKey(), new ItemFrameInfo(data.getEntityId(), new HashSet<>(viewers), data.getItemStack()));
+                }
+            }
+            return frameInfos;
+        }
+        Map<UUID, CompletableFuture<ItemFrameInfo>> futures = queryItemFramesInfo(async);
+        long deadline = System.currentTimeMillis() + 2000;
+        for (Map.Entry<UUID, CompletableFuture<ItemFrameInfo>> entry : futures.entrySet()) {
+            UUID uuid = entry.getKey();
+            ItemFrameInfo frameInfo;
+            try {
+                frameInfo = entry.getValue().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                frameInfo = null;
+            }
+            if (frameInfo == null) {
+                itemFrames.remove(uuid);
+            } else {
+                frameInfos.put(uuid, frameInfo);
+            }
         }
+        return frameInfos;
     }
 
-    private Map<UUID, CompletableFuture<ItemFrameInfo>> collectItemFramesInfo(boolean async) {
+    private void refreshTrackedItems(boolean async) {
+        boolean isFolia = Scheduler.getPlatform() instanceof FoliaScheduler;
+        for (Map.Entry<UUID, TrackedItemFrameData> entry : itemFrames.entrySet()) {
+            UUID uuid = entry.getKey();
+            TrackedItemFrameData data = entry.getValue();
+            if (data.getViewers().isEmpty()) {
+                continue;
+            }
+            ItemFrame itemFrame = data.getItemFrame();
+            Runnable task = () -> {
+                if (itemFrame.isValid()) {
+                    data.setItemStack(itemFrame.getItem());
+                } else {
+                    itemFrames.remove(uuid, data);
+                }
+            };
+            if (async && !isFolia) {
+                task.run();
+            } else {
+                Scheduler.executeOrScheduleSync(ImageFrame.plugin, task, itemFrame);
+            }
+        }
+    }
+
+    private Map<UUID, CompletableFuture<ItemFrameInfo>> queryItemFramesInfo(boolean async) {
         boolean isFolia = Scheduler.getPlatform() instanceof FoliaScheduler;
         Map<UUID, CompletableFuture<ItemFrameInfo>> futures = new HashMap<>();
         for (Map.Entry<UUID, TrackedItemFrameData> entry : itemFrames.entrySet()) {
@@ -102,17 +254,7 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
             Runnable task = () -> {
                 try {
                     if (itemFrame.isValid()) {
-                        Set<Player> trackedPlayers;
-                        if (isFolia) {
-                            try {
-                                //noinspection deprecation
-                                trackedPlayers = itemFrame.getTrackedPlayers();
-                            } catch (Throwable e) {
-                                trackedPlayers = NMS.getInstance().getEntityTrackers(itemFrame);
-                            }
-                        } else {
-                            trackedPlayers = NMS.getInstance().getEntityTrackers(itemFrame);
-                        }
+                        Set<Player> trackedPlayers = getTrackedPlayers(itemFrame);
                         future.complete(new ItemFrameInfo(itemFrame.getEntityId(), trackedPlayers, itemFrame.getItem()));
                     } else {
                         future.complete(null);
@@ -132,21 +274,12 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
     }
 
     public void run() {
-        Map<UUID, CompletableFuture<ItemFrameInfo>> entityTrackers = collectItemFramesInfo(!ImageFrame.handleAnimatedMapsOnMainThread);
+        Map<UUID, ItemFrameInfo> frameInfos = collectItemFramesInfo(!ImageFrame.handleAnimatedMapsOnMainThread);
         Map<Player, List<FakeItemUtils.ItemFrameUpdateData>> updateData = new HashMap<>();
-        long deadline = System.currentTimeMillis() + 2000;
-        for (Map.Entry<UUID, CompletableFuture<ItemFrameInfo>> entry : entityTrackers.entrySet()) {
+        Map<AnimationData, ResolvedTile> resolvedTiles = new HashMap<>();
+        for (Map.Entry<UUID, ItemFrameInfo> entry : frameInfos.entrySet()) {
             UUID uuid = entry.getKey();
-            ItemFrameInfo frameInfo;
-            try {
-                frameInfo = entry.getValue().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                frameInfo = null;
-            }
-            if (frameInfo == null) {
-                itemFrames.remove(uuid);
-                continue;
-            }
+            ItemFrameInfo frameInfo = entry.getValue();
 
             int entityId = frameInfo.getEntityId();
             Set<Player> players = frameInfo.getTrackedPlayers();
@@ -156,86 +289,114 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
             if (data == null) {
                 continue;
             }
+            if (!Objects.equals(data.getLastItemStack(), itemStack)) {
+                data.setLastItemStack(itemStack);
+                for (Map<Integer, Integer> sentMapIds : lastSentMapIds.values()) {
+                    sentMapIds.remove(entityId);
+                }
+            }
 
             AnimationData animationData = data.getAnimationData();
             MapView mapView = MapUtils.getItemMapView(itemStack);
 
             if (mapView == null) {
-                data.setAnimationData(AnimationData.EMPTY);
+                itemFrames.remove(uuid, data);
                 continue;
             }
 
-            if (animationData.isEmpty() || !animationData.getMapView().equals(mapView)) {
-                ImageMap map = ImageFrame.imageMapManager.getFromMapView(mapView);
-                if (map == null || !map.requiresAnimationService()) {
-                    if (!animationData.isEmpty()) {
-                        data.setAnimationData(AnimationData.EMPTY);
-                    }
+            if (!animationData.getMapView().equals(mapView)) {
+                animationData = getAnimationData(mapView);
+                if (animationData.isEmpty()) {
+                    itemFrames.remove(uuid, data);
                     continue;
                 }
-                data.setAnimationData(animationData = new AnimationData(map, mapView, map.getMapViews().indexOf(mapView)));
-            } else if (!animationData.isEmpty()) {
-                if (!animationData.getImageMap().isValid()) {
+                data.setAnimationData(animationData);
+            } else if (!animationData.getImageMap().isValid()) {
+                for (Player player : players) {
+                    FakeItemUtils.sendFakeItemChange(player, entityId, itemStack);
+                }
+                itemFrames.remove(uuid, data);
+                continue;
+            }
+            ImageMap imageMap = animationData.getImageMap();
+            if (!players.isEmpty()) {
+                imageMap.markViewed();
+            }
+            ResolvedTile resolvedTile = resolvedTiles.computeIfAbsent(animationData, k -> resolveTile(k.getImageMap(), k.getIndex()));
+            if (!resolvedTile.isAnimated()) {
+                if (data.isFakeItemSent()) {
                     for (Player player : players) {
                         FakeItemUtils.sendFakeItemChange(player, entityId, itemStack);
                     }
-                    data.setAnimationData(AnimationData.EMPTY);
-                    continue;
+                    data.setFakeItemSent(false);
                 }
-            }
-            ImageMap imageMap = animationData.getImageMap();
-
-            if (!imageMap.requiresAnimationService()) {
-                data.setAnimationData(AnimationData.EMPTY);
                 continue;
             }
-            int index = animationData.getIndex();
-            int currentPosition = imageMap.getCurrentPositionInSequenceWithOffset();
-            int mapId = imageMap.getAnimationFakeMapId(currentPosition, index, imageMap.isAnimationPaused());
+            int currentPosition = resolvedTile.getCurrentPosition();
+            int mapId = resolvedTile.getMapId();
             if (mapId < 0) {
                 continue;
             }
-            Set<Player> requiresSending = new HashSet<>();
-            Set<Player> needReset = new HashSet<>();
+            Set<Player> requiresSending = null;
+            Set<Player> needReset = null;
             for (Iterator<Player> itr = players.iterator(); itr.hasNext();) {
                 Player player = itr.next();
                 MapMarkerEditManager.MapMarkerEditData edit = ImageFrame.mapMarkerEditManager.getActiveEditing(player);
                 if (edit != null && Objects.equals(edit.getImageMap(), imageMap)) {
+                    if (needReset == null) {
+                        needReset = new HashSet<>();
+                    }
                     needReset.add(player);
                     itr.remove();
                     continue;
                 }
-                Set<Integer> knownIds = knownMapIds.get(player);
-                Set<Integer> pendingKnownIds = pendingKnownMapIds.get(player);
+                FakeMapIdSet knownIds = knownMapIds.get(player);
+                FakeMapIdSet pendingKnownIds = pendingKnownMapIds.get(player);
                 if (knownIds != null && !knownIds.contains(mapId)) {
                     if (pendingKnownIds != null && !pendingKnownIds.contains(mapId)) {
                         Set<Integer> fakeMapIds = imageMap.getFakeMapIds();
                         if (fakeMapIds != null) {
                             pendingKnownIds.addAll(fakeMapIds);
+                            if (requiresSending == null) {
+                                requiresSending = new HashSet<>();
+                            }
                             requiresSending.add(player);
                         }
                     }
                     itr.remove();
                 }
             }
-            if (!requiresSending.isEmpty()) {
+            if (requiresSending != null) {
                 imageMap.sendAnimationFakeMaps(requiresSending, (p, i, r) -> {
-                    Set<Integer> pendingKnownIds = pendingKnownMapIds.get(p);
+                    FakeMapIdSet pendingKnownIds = pendingKnownMapIds.get(p);
                     if (pendingKnownIds != null && pendingKnownIds.remove(i) && r) {
-                        Set<Integer> knownIds = knownMapIds.get(p);
+                        FakeMapIdSet knownIds = knownMapIds.get(p);
                         if (knownIds != null) {
                             knownIds.add(i);
                         }
                     }
                 });
             }
-            if (!needReset.isEmpty()) {
+            if (needReset != null) {
                 FakeItemUtils.ItemFrameUpdateData itemFrameUpdateData = new FakeItemUtils.ItemFrameUpdateData(entityId, itemStack, mapView.getId(), mapView, currentPosition);
                 needReset.forEach(p -> updateData.computeIfAbsent(p, k -> new ArrayList<>()).add(itemFrameUpdateData));
             }
-            FakeItemUtils.ItemFrameUpdateData itemFrameUpdateData = new FakeItemUtils.ItemFrameUpdateData(entityId, getMapItem(mapId), mapView.getId(), mapView, currentPosition);
+            FakeItemUtils.ItemFrameUpdateData itemFrameUpdateData = new FakeItemUtils.ItemFrameUpdateData(entityId, resolvedTile.getItemStack(), mapView.getId(), mapView, currentPosition, mapId);
+            data.setFakeItemSent(true);
             players.forEach(p -> updateData.computeIfAbsent(p, k -> new ArrayList<>()).add(itemFrameUpdateData));
         }
+        for (Map.Entry<Player, Map<Integer, Integer>> entry : lastSentMapIds.entrySet()) {
+            List<FakeItemUtils.ItemFrameUpdateData> list = updateData.get(entry.getKey());
+            if (list == null) {
+                entry.getValue().clear();
+            } else {
+                Set<Integer> entityIds = new HashSet<>();
+                for (FakeItemUtils.ItemFrameUpdateData data : list) {
+                    entityIds.add(data.getEntityId());
+                }
+                entry.getValue().keySet().retainAll(entityIds);
+            }
+        }
         Map<Player, List<Runnable>> sendingTasks = new HashMap<>();
         for (Map.Entry<Player, List<FakeItemUtils.ItemFrameUpdateData>> entry : updateData.entrySet()) {
             Player player = entry.getKey();
@@ -248,8 +409,13 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
                         }
                     }
                 } else {
-                    sendingTasks.computeIfAbsent(player, k -> new ArrayList<>()).add(() -> FakeItemUtils.sendFakeItemChange(player, entry.getValue()));
+                    List<FakeItemUtils.ItemFrameUpdateData> changed = filterChanged(player, entry.getValue());
+                    if (!changed.isEmpty()) {
+                        sendingTasks.computeIfAbsent(player, k -> new ArrayList<>()).add(() -> FakeItemUtils.sendFakeItemChange(player, changed));
+                    }
                 }
+            } else {
+                lastSentMapIds.remove(player);
             }
         }
         for (Player player : Bukkit.getOnlinePlayers()) {
@@ -260,14 +426,14 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
                 MapView offhandView = MapUtils.getItemMapView(offhand);
                 if (mainHandView != null) {
                     ImageMap mainHandMap = ImageFrame.imageMapManager.getFromMapView(mainHandView);
-                    if (mainHandMap != null && mainHandMap.requiresAnimationService()) {
-                        sendingTasks.computeIfAbsent(player, k -> new ArrayList<>()).add(() -> mainHandMap.send(player));
+                    if (mainHandMap != null && mainHandMap.requiresAnimationService() && mainHandMap.isTileAnimated(mainHandMap.getMapViews().indexOf(mainHandView))) {
+                        sendingTasks.computeIfAbsent(player, k -> new ArrayList<>()).add(() -> MapUtils.sendImageMap(mainHandView, Collections.singleton(player)));
                     }
                 }
                 if (offhandView != null && !offhandView.equals(mainHandView)) {
                     ImageMap offHandMap = ImageFrame.imageMapManager.getFromMapView(offhandView);
-                    if (offHandMap != null && offHandMap.requiresAnimationService()) {
-                        sendingTasks.computeIfAbsent(player, k -> new ArrayList<>()).add(() -> offHandMap.send(player));
+                    if (offHandMap != null && offHandMap.requiresAnimationService() && offHandMap.isTileAnimated(offHandMap.getMapViews().indexOf(offhandView))) {
+                        sendingTasks.computeIfAbsent(player, k -> new ArrayList<>()).add(() -> MapUtils.sendImageMap(offhandView, Collections.singleton(player)));
                     }
                 }
             }
@@ -281,13 +447,43 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         }
     }
 
-    @SuppressWarnings("deprecation")
-    private ItemStack getMapItem(int mapId) {
-        ItemStack itemStack = new ItemStack(Material.FILLED_MAP);
-        MapMeta mapMeta = (MapMeta) itemStack.getItemMeta();
-        mapMeta.setMapId(mapId);
-        itemStack.setItemMeta(mapMeta);
-        return itemStack;
+    private List<FakeItemUtils.ItemFrameUpdateData> filterChanged(Player player, List<FakeItemUtils.ItemFrameUpdateData> updateData) {
+        Map<Integer, Integer> sentMapIds = lastSentMapIds.computeIfAbsent(player, k -> new ConcurrentHashMap<>());
+        List<FakeItemUtils.ItemFrameUpdateData> changed = new ArrayList<>(updateData.size());
+        for (FakeItemUtils.ItemFrameUpdateData data : updateData) {
+            Integer lastSentMapId = sentMapIds.put(data.getEntityId(), data.getDisplayedMapId());
+            if (lastSentMapId == null || lastSentMapId != data.getDisplayedMapId()) {
+                changed.add(data);
+            }
+        }
+        return changed;
+    }
+
+    private ResolvedTile resolveTile(ImageMap imageMap, int index) {
+        if (!imageMap.isTileAnimated(index)) {
+            return ResolvedTile.STATIC;
+        }
+        int currentPosition = imageMap.getCurrentPositionInSequenceWithOffset();
+        int mapId = imageMap.getAnimationFakeMapId(currentPosition, index, imageMap.isAnimationPaused());
+        if (mapId < 0) {
+            return new ResolvedTile(true, currentPosition, mapId, null);
+        }
+        return new ResolvedTile(true, currentPosition, mapId, imageMap.getAnimationFakeMapItem(mapId));
+    }
+
+    private AnimationData getAnimationData(MapView mapView) {
+        if (mapView == null) {
+            return AnimationData.EMPTY;
+        }
+        ImageMap map = ImageFrame.imageMapManager.getFromMapView(mapView);
+        if (map == null || !map.requiresAnimationService()) {
+            return AnimationData.EMPTY;
+        }
+        return new AnimationData(map, mapView, map.getMapViews().indexOf(mapView));
+    }
+
+    public void refreshItemFrame(ItemFrame itemFrame) {
+        handleEntity(itemFrame);
     }
 
     private void handleEntity(Entity entity) {
@@ -296,20 +492,43 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         }
         ItemFrame itemFrame = (ItemFrame) entity;
         UUID uuid = itemFrame.getUniqueId();
-        if (itemFrames.containsKey(uuid)) {
+        ItemStack itemStack = itemFrame.getItem();
+        AnimationData animationData = getAnimationData(MapUtils.getItemMapView(itemStack));
+        if (animationData.isEmpty()) {
+            itemFrames.remove(uuid);
             return;
         }
-        MapView mapView = MapUtils.getItemMapView(itemFrame.getItem());
-        if (mapView == null) {
-            itemFrames.put(uuid, new TrackedItemFrameData(itemFrame, AnimationData.EMPTY));
+        TrackedItemFrameData data = itemFrames.get(uuid);
+        if (data != null) {
+            data.setItemStack(itemStack);
+            if (!data.getAnimationData().getMapView().equals(animationData.getMapView())) {
+                data.setAnimationData(animationData);
+            }
             return;
         }
-        ImageMap map = ImageFrame.imageMapManager.getFromMapView(mapView);
-        if (map == null || !map.requiresAnimationService()) {
-            itemFrames.put(uuid, new TrackedItemFrameData(itemFrame, AnimationData.EMPTY));
-            return;
+        data = new TrackedItemFrameData(itemFrame, animationData, itemStack);
+        if (trackerEvents) {
+            data.getViewers().addAll(getTrackedPlayers(itemFrame));
+        }
+        itemFrames.put(uuid, data);
+    }
+
+    private void handleEntityLater(Entity entity) {
+        if (entity instanceof ItemFrame) {
+            Scheduler.runTaskLater(ImageFrame.plugin, () -> {
+                if (entity.isValid()) {
+                    handleEntity(entity);
+                } else {
+                    removeEntity(entity);
+                }
+            }, 1, entity);
+        }
+    }
+
+    private void removeEntity(Entity entity) {
+        if (entity instanceof ItemFrame) {
+            itemFrames.remove(entity.getUniqueId());
         }
-        itemFrames.put(uuid, new TrackedItemFrameData(itemFrame, new AnimationData(map, mapView, map.getMapViews().indexOf(mapView))));
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -322,14 +541,31 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         }, chunk);
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        for (Entity entity : event.getChunk().getEntities()) {
+            removeEntity(entity);
+        }
+    }
+
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onHangingPlace(HangingPlaceEvent event) {
         handleEntity(event.getEntity());
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHangingBreak(HangingBreakEvent event) {
+        removeEntity(event.getEntity());
+    }
+
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerInteract(PlayerInteractEntityEvent event) {
-        handleEntity(event.getRightClicked());
+        handleEntityLater(event.getRightClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemFrameDamage(EntityDamageByEntityEvent event) {
+        handleEntityLater(event.getEntity());
     }
 
     @EventHandler
@@ -337,8 +573,8 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         Player player = event.getPlayer();
         Scheduler.runTaskLater(ImageFrame.plugin, () -> {
             if (player.isOnline()) {
-                knownMapIds.put(player, ConcurrentHashMap.newKeySet());
-                pendingKnownMapIds.put(player, ConcurrentHashMap.newKeySet());
+                knownMapIds.put(player, new FakeMapIdSet());
+                pendingKnownMapIds.put(player, new FakeMapIdSet());
             }
         }, 20);
     }
@@ -348,6 +584,10 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         Player player = event.getPlayer();
         knownMapIds.remove(player);
         pendingKnownMapIds.remove(player);
+        lastSentMapIds.remove(player);
+        for (TrackedItemFrameData data : itemFrames.values()) {
+            data.getViewers().remove(player);
+        }
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -364,6 +604,19 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         }
     }
 
+    @EventHandler
+    public void onImageMapAdded(ImageMapAddedEvent event) {
+        if (!event.getImageMap().requiresAnimationService()) {
+            return;
+        }
+        if (rescanScheduled.compareAndSet(false, true)) {
+            Scheduler.runTaskLater(ImageFrame.plugin, () -> {
+                rescanScheduled.set(false);
+                scanLoadedItemFrames();
+            }, 20);
+        }
+    }
+
     @EventHandler
     public void onImageMapUpdate(ImageMapUpdatedEvent event) {
         ImageMap imageMap = event.getImageMap();
@@ -373,10 +626,10 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         Scheduler.runTaskAsynchronously(ImageFrame.plugin, () -> {
             Set<Integer> ids = imageMap.getFakeMapIds();
             if (ids != null) {
-                for (Set<Integer> knownIds : knownMapIds.values()) {
+                for (FakeMapIdSet knownIds : knownMapIds.values()) {
                     knownIds.removeAll(ids);
                 }
-                for (Set<Integer> pendingKnownIds : pendingKnownMapIds.values()) {
+                for (FakeMapIdSet pendingKnownIds : pendingKnownMapIds.values()) {
                     pendingKnownIds.removeAll(ids);
                 }
             }
@@ -392,22 +645,55 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
             }
         }
 
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onEntityUnload(EntitiesUnloadEvent event) {
+            for (Entity entity : event.getEntities()) {
+                removeEntity(entity);
+            }
+        }
+
     }
 
     public static class TrackedItemFrameData {
 
         private final ItemFrame itemFrame;
-        private AnimationData animationData;
+        private final int entityId;
+        private final Set<Player> viewers;
+        private volatile ItemStack itemStack;
+        private volatile AnimationData animationData;
+        private volatile boolean fakeItemSent;
+        private volatile ItemStack lastItemStack;
 
-        public TrackedItemFrameData(ItemFrame itemFrame, AnimationData animationData) {
+        public TrackedItemFrameData(ItemFrame itemFrame, AnimationData animationData, ItemStack itemStack) {
             this.itemFrame = itemFrame;
+            this.entityId = itemFrame.getEntityId();
+            this.viewers = ConcurrentHashMap.newKeySet();
+            this.itemStack = itemStack;
             this.animationData = animationData;
+            this.fakeItemSent = false;
+            this.lastItemStack = null;
         }
 
         public ItemFrame getItemFrame() {
             return itemFrame;
         }
 
+        public int getEntityId() {
+            return entityId;
+        }
+
+        public Set<Player> getViewers() {
+            return viewers;
+        }
+
+        public ItemStack getItemStack() {
+            return itemStack;
+        }
+
+        public void setItemStack(ItemStack itemStack) {
+            this.itemStack = itemStack;
+        }
+
         public AnimationData getAnimationData() {
             return animationData;
         }
@@ -416,6 +702,22 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
             this.animationData = animationData;
         }
 
+        public boolean isFakeItemSent() {
+            return fakeItemSent;
+        }
+
+        public void setFakeItemSent(boolean fakeItemSent) {
+            this.fakeItemSent = fakeItemSent;
+        }
+
+        public ItemStack getLastItemStack() {
+            return lastItemStack;
+        }
+
+        public void setLastItemStack(ItemStack lastItemStack) {
+            this.lastItemStack = lastItemStack;
+        }
+
     }
 
     public static class AnimationData {
@@ -447,6 +749,52 @@ public class AnimatedFakeMapManager implements Listener, Runnable {
         public int getIndex() {
             return index;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AnimationData that = (AnimationData) o;
+            return index == that.index && Objects.equals(imageMap, that.imageMap);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(imageMap, index);
+        }
+    }
+
+    public static class ResolvedTile {
+
+        public static final ResolvedTile STATIC = new ResolvedTile(false, 0, -1, null);
+
+        private final boolean animated;
+        private final int currentPosition;
+        private final int mapId;
+        private final ItemStack itemStack;
+
+        public ResolvedTile(boolean animated, int currentPosition, int mapId, ItemStack itemStack) {
+            this.animated = animated;
+            this.currentPosition = currentPosition;
+            this.mapId = mapId;
+            this.itemStack = itemStack;
+        }
+
+        public boolean isAnimated() {
+            return animated;
+        }
+
+        public int getCurrentPosition() {
+            return currentPosition;
+        }
+
+        public int getMapId() {
+            return mapId;
+        }
+
+        public ItemStack getItemStack() {
+            return itemStack;
+        }
     }
 
     public static class ItemFrameInfo {
@@ -0,0 +1,63 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.io.IOException;
+
+public enum AnimationFrameStoreType {
+
+    HEAP {
+        @Override
+        public AnimationFrameStore create(byte[][][] frames, int frameSize) {
+            return new HeapAnimationFrameStore(frames);
+        }
+    },
+    DIRECT {
+        @Override
+        public AnimationFrameStore create(byte[][][] frames, int frameSize) {
+            return ByteBufferAnimationFrameStore.allocateDirect(frames, frameSize);
+        }
+    },
+    MAPPED {
+        @Override
+        public AnimationFrameStore create(byte[][][] frames, int frameSize) throws IOException {
+            return ByteBufferAnimationFrameStore.map(frames, frameSize);
+        }
+    },
+    DELTA {
+        @Override
+        public AnimationFrameStore create(byte[][][] frames, int frameSize) {
+            return new DeltaAnimationFrameStore(frames, frameSize);
+        }
+    };
+
+    public abstract AnimationFrameStore create(byte[][][] frames, int frameSize) throws IOException;
+
+    public AnimationFrameStore createOrFallback(byte[][][] frames, int frameSize) {
+        try {
+            return create(frames, frameSize);
+        } catch (IOException | RuntimeException | OutOfMemoryError e) {
+            new RuntimeException("Unable to create " + name() + " animation frame store, falling back to HEAP", e).printStackTrace();
+            return new HeapAnimationFrameStore(frames);
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class ByteBufferAnimationFrameStore implements AnimationFrameStore {
+
+    public static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    public static final String MAPPED_FILE_PREFIX = "frames-";
+    public static final String MAPPED_FILE_EXTENSION = ".bin";
+
+    private static volatile File mappedFileFolder = null;
+
+    public static File getMappedFileFolder() {
+        return mappedFileFolder;
+    }
+
+    public static void setMappedFileFolder(File folder) {
+        mappedFileFolder = folder;
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(MAPPED_FILE_PREFIX) && name.endsWith(MAPPED_FILE_EXTENSION)) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    public static ByteBufferAnimationFrameStore allocateDirect(byte[][][] frames, int frameSize) {
+        ByteBufferAnimationFrameStore store = new ByteBufferAnimationFrameStore(frames, frameSize, null);
+        for (int i = 0; i < store.chunks.length; i++) {
+            store.chunks[i] = ByteBuffer.allocateDirect(store.getChunkSize(i));
+        }
+        store.write(frames);
+        return store;
+    }
+
+    public static ByteBufferAnimationFrameStore map(byte[][][] frames, int frameSize) throws IOException {
+        File folder = mappedFileFolder;
+        if (folder == null) {
+            throw new IllegalStateException("Mapped file folder has not been set");
+        }
+        folder.mkdirs();
+        File file = File.createTempFile(MAPPED_FILE_PREFIX, MAPPED_FILE_EXTENSION, folder);
+        ByteBufferAnimationFrameStore store = new ByteBufferAnimationFrameStore(frames, frameSize, file);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            long position = 0;
+            for (int i = 0; i < store.chunks.length; i++) {
+                int chunkSize = store.getChunkSize(i);
+                store.chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkSize);
+                position += chunkSize;
+            }
+        } catch (IOException e) {
+            file.delete();
+            throw e;
+        }
+        store.write(frames);
+        return store;
+    }
+
+    private final int frameSize;
+    private final int framesPerChunk;
+    private final int frameCount;
+    private final int[][] slots;
+    private volatile ByteBuffer[] chunks;
+    private final AtomicReferenceArray<CachedFrame> cachedFrames;
+    private final File file;
+
+    private ByteBufferAnimationFrameStore(byte[][][] frames, int frameSize, File file) {
+        this.frameSize = frameSize;
+        this.framesPerChunk = Math.max(1, MAX_CHUNK_SIZE / frameSize);
+        this.slots = new int[frames.length][];
+        int frameCount = 0;
+        for (int i = 0; i < frames.length; i++) {
+            byte[][] tileFrames = frames[i];
+            if (tileFrames == null) {
+                continue;
+            }
+            int[] tileSlots = new int[tileFrames.length];
+            Arrays.fill(tileSlots, -1);
+            for (int u = 0; u < tileFrames.length; u++) {
+                byte[] frame = tileFrames[u];
+                if (frame != null) {
+                    if (frame.length != frameSize) {
+                        throw new IllegalArgumentException("Frame size must be " + frameSize + " but was " + frame.length);
+                    }
+                    tileSlots[u] = frameCount++;
+                }
+            }
+            slots[i] = tileSlots;
+        }
+        this.frameCount = frameCount;
+        this.chunks = new ByteBuffer[(frameCount + framesPerChunk - 1) / framesPerChunk];
+        this.cachedFrames = new AtomicReferenceArray<>(frames.length);
+        this.file = file;
+    }
+
+    private int getChunkSize(int chunk) {
+        return Math.min(framesPerChunk, frameCount - chunk * framesPerChunk) * frameSize;
+    }
+
+    private void write(byte[][][] frames) {
+        for (int i = 0; i < frames.length; i++) {
+            byte[][] tileFrames = frames[i];
+            if (tileFrames == null) {
+                continue;
+            }
+            for (int u = 0; u < tileFrames.length; u++) {
+                int slot = slots[i][u];
+                if (slot >= 0) {
+                    ByteBuffer buffer = chunks[slot / framesPerChunk].duplicate();
+                    buffer.position((slot % framesPerChunk) * frameSize);
+                    buffer.put(tileFrames[u]);
+                }
+            }
+        }
+    }
+
+    public boolean isMapped() {
+        return file != null;
+    }
+
+    @Override
+    public int getTileCount() {
+        return slots.length;
+    }
+
+    @Override
+    public int getFrameCount(int tile) {
+        int[] tileSlots = slots[tile];
+        return tileSlots == null ? 0 : tileSlots.length;
+    }
+
+    @Override
+    public boolean hasFrame(int tile, int frame) {
+        int[] tileSlots = slots[tile];
+        return tileSlots != null && tileSlots[frame] >= 0;
+    }
+
+    @Override
+    public byte[] getFrame(int tile, int frame) {
+        int[] tileSlots = slots[tile];
+        if (tileSlots == null) {
+            return null;
+        }
+        int slot = tileSlots[frame];
+        if (slot < 0) {
+            return null;
+        }
+        CachedFrame cachedFrame = cachedFrames.get(tile);
+        if (cachedFrame != null && cachedFrame.slot == slot) {
+            return cachedFrame.data;
+        }
+        synchronized (cachedFrames) {
+            cachedFrame = cachedFrames.get(tile);
+            if (cachedFrame != null && cachedFrame.slot == slot) {
+                return cachedFrame.data;
+            }
+            byte[] data = cachedFrame == null || cachedFrame.spare == null ? new byte[frameSize] : cachedFrame.spare;
+            if (!read(slot, data)) {
+                return null;
+            }
+            cachedFrames.set(tile, new CachedFrame(slot, data, cachedFrame == null ? null : cachedFrame.data));
+            return data;
+        }
+    }
+
+    @Override
+    public boolean reusesFrameArrays() {
+        return true;
+    }
+
+    private boolean read(int slot, byte[] data) {
+        ByteBuffer[] chunks = this.chunks;
+        if (chunks == null) {
+            return false;
+        }
+        ByteBuffer buffer = chunks[slot / framesPerChunk].duplicate();
+        buffer.position((slot % framesPerChunk) * frameSize);
+        buffer.get(data);
+        return true;
+    }
+
+    @Override
+    public byte[][][] toArray() {
+        byte[][][] frames = new byte[slots.length][][];
+        for (int i = 0; i < slots.length; i++) {
+            int[] tileSlots = slots[i];
+            if (tileSlots == null) {
+                continue;
+            }
+            byte[][] tileFrames = new byte[tileSlots.length][];
+            for (int u = 0; u < tileSlots.length; u++) {
+                int slot = tileSlots[u];
+                if (slot >= 0) {
+                    byte[] data = new byte[frameSize];
+                    if (read(slot, data)) {
+                        tileFrames[u] = data;
+                    }
+                }
+            }
+            frames[i] = tileFrames;
+        }
+        return frames;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        return (long) frameCount * frameSize;
+    }
+
+    @Override
+    public void close() {
+        chunks = null;
+        for (int i = 0; i < cachedFrames.length(); i++) {
+            cachedFrames.set(i, null);
+        }
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    private static class CachedFrame {
+
+        private final int slot;
+        private final byte[] data;
+        private final byte[] spare;
+
+        private CachedFrame(int slot, byte[] data, byte[] spare) {
+            this.slot = slot;
+            this.data = data;
+            this.spare = spare;
+        }
+    }
+
+}
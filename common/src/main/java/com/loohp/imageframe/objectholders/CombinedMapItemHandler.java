@@ -349,6 +349,7 @@ public class CombinedMapItemHandler implements Listener, AutoCloseable {
             if (player == null || itemFrames.stream().allMatch(each -> PlayerUtils.isDamageAllowed(player, each))) {
                 itemFrames.forEach(each -> each.setItem(null, false));
                 itemFrame.setItem(getCombinedMap(imageMap), false);
+                ImageFrame.animatedFakeMapManager.refreshItemFrame(itemFrame);
             } else {
                 CommandSenderUtils.sendMessage(player, Component.translatable(TranslationKey.ITEM_FRAME_OCCUPIED).color(NamedTextColor.RED));
             }
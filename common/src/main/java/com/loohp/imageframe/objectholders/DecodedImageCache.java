@@ -0,0 +1,167 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DecodedImageCache {
+
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+
+    private static final DecodedImageCache INSTANCE = new DecodedImageCache(DEFAULT_MAX_SIZE_IN_BYTES);
+
+    public static DecodedImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static long getSizeInBytes(BufferedImage image) {
+        DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+        return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() * (DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8);
+    }
+
+    private final LinkedHashMap<Object, Entry> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+    private long maxSizeInBytes;
+    private long sizeInBytes;
+
+    public DecodedImageCache(long maxSizeInBytes) {
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.sizeInBytes = 0;
+    }
+
+    public BufferedImage get(Object key) {
+        BufferedImage image;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            image = entry == null ? null : entry.image;
+        }
+        if (image == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return image;
+    }
+
+    public synchronized BufferedImage peek(Object key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.image;
+    }
+
+    public synchronized void put(Object key, BufferedImage image) {
+        long size = getSizeInBytes(image);
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            sizeInBytes -= previous.size;
+        }
+        if (size > maxSizeInBytes) {
+            return;
+        }
+        entries.put(key, new Entry(image, size));
+        sizeInBytes += size;
+        trim();
+    }
+
+    public synchronized void invalidate(Object key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            sizeInBytes -= previous.size;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    public synchronized long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    public synchronized void setMaxSizeInBytes(long maxSizeInBytes) {
+        this.maxSizeInBytes = Math.max(0, maxSizeInBytes);
+        trim();
+    }
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public synchronized int getImageCount() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRatio() {
+        long hits = this.hits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<Object, Entry>> itr = entries.entrySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && itr.hasNext()) {
+            sizeInBytes -= itr.next().getValue().size;
+            itr.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static class Entry {
+
+        private final BufferedImage image;
+        private final long size;
+
+        private Entry(BufferedImage image, long size) {
+            this.image = image;
+            this.size = size;
+        }
+    }
+
+}
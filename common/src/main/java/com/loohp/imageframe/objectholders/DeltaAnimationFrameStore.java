@@ -0,0 +1,288 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.util.Arrays;
+
+public class DeltaAnimationFrameStore implements AnimationFrameStore {
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 16;
+    public static final int MIN_RUN_LENGTH = 4;
+
+    private final int frameSize;
+    private final int keyframeInterval;
+    private final TileFrames[] tiles;
+
+    public DeltaAnimationFrameStore(byte[][][] frames, int frameSize) {
+        this(frames, frameSize, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public DeltaAnimationFrameStore(byte[][][] frames, int frameSize, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be at least 1");
+        }
+        this.frameSize = frameSize;
+        this.keyframeInterval = keyframeInterval;
+        this.tiles = new TileFrames[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            if (frames[i] != null) {
+                tiles[i] = new TileFrames(frames[i]);
+            }
+        }
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    @Override
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    @Override
+    public int getFrameCount(int tile) {
+        TileFrames tileFrames = tiles[tile];
+        return tileFrames == null ? 0 : tileFrames.slots.length;
+    }
+
+    @Override
+    public boolean hasFrame(int tile, int frame) {
+        TileFrames tileFrames = tiles[tile];
+        return tileFrames != null && tileFrames.slots[frame] >= 0;
+    }
+
+    @Override
+    public byte[] getFrame(int tile, int frame) {
+        TileFrames tileFrames = tiles[tile];
+        if (tileFrames == null) {
+            return null;
+        }
+        int slot = tileFrames.slots[frame];
+        if (slot < 0) {
+            return null;
+        }
+        return tileFrames.decode(slot);
+    }
+
+    @Override
+    public boolean reusesFrameArrays() {
+        return false;
+    }
+
+    @Override
+    public byte[][][] toArray() {
+        byte[][][] frames = new byte[tiles.length][][];
+        for (int i = 0; i < tiles.length; i++) {
+            TileFrames tileFrames = tiles[i];
+            if (tileFrames == null) {
+                continue;
+            }
+            byte[][] result = new byte[tileFrames.slots.length][];
+            for (int u = 0; u < result.length; u++) {
+                result[u] = getFrame(i, u);
+            }
+            frames[i] = result;
+        }
+        return frames;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        long size = 0;
+        for (TileFrames tileFrames : tiles) {
+            if (tileFrames != null) {
+                for (byte[] data : tileFrames.encoded) {
+                    size += data.length;
+                }
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private class TileFrames {
+
+        private final int[] slots;
+        private final byte[][] encoded;
+        private int cachedSlot;
+        private byte[] cachedFrame;
+
+        private TileFrames(byte[][] frames) {
+            this.slots = new int[frames.length];
+            Arrays.fill(slots, -1);
+            int count = 0;
+            for (byte[] frame : frames) {
+                if (frame != null) {
+                    count++;
+                }
+            }
+            this.encoded = new byte[count][];
+            byte[] previous = null;
+            int slot = 0;
+            for (int i = 0; i < frames.length; i++) {
+                byte[] frame = frames[i];
+                if (frame == null) {
+                    continue;
+                }
+                if (frame.length != frameSize) {
+                    throw new IllegalArgumentException("Frame size must be " + frameSize + " but was " + frame.length);
+                }
+                encoded[slot] = encodeXor(frame, slot % keyframeInterval == 0 ? null : previous);
+                slots[i] = slot++;
+                previous = frame;
+            }
+            this.cachedSlot = -1;
+            this.cachedFrame = null;
+        }
+
+        private synchronized byte[] decode(int slot) {
+            if (slot == cachedSlot) {
+                return cachedFrame;
+            }
+            int keyframe = slot - (slot % keyframeInterval);
+            byte[] frame;
+            int current;
+            if (cachedSlot >= keyframe && cachedSlot < slot) {
+                frame = cachedFrame.clone();
+                current = cachedSlot;
+            } else {
+                frame = new byte[frameSize];
+                decodeXor(encoded[keyframe], frame);
+                current = keyframe;
+            }
+            while (current < slot) {
+                decodeXor(encoded[++current], frame);
+            }
+            cachedSlot = slot;
+            cachedFrame = frame;
+            return frame;
+        }
+    }
+
+    public static byte[] encodeXor(byte[] frame, byte[] previous) {
+        int length = frame.length;
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = previous == null ? frame[i] : (byte) (frame[i] ^ previous[i]);
+        }
+        ByteArrayBuilder out = new ByteArrayBuilder(64);
+        int literalStart = 0;
+        int i = 0;
+        while (i < length) {
+            byte value = data[i];
+            int j = i + 1;
+            while (j < length && data[j] == value) {
+                j++;
+            }
+            int run = j - i;
+            if (run >= MIN_RUN_LENGTH) {
+                if (literalStart < i) {
+                    out.writeVarInt(((i - literalStart) << 1) | 1);
+                    out.write(data, literalStart, i - literalStart);
+                }
+                out.writeVarInt(run << 1);
+                out.write(value);
+                literalStart = j;
+            }
+            i = j;
+        }
+        if (literalStart < length) {
+            out.writeVarInt(((length - literalStart) << 1) | 1);
+            out.write(data, literalStart, length - literalStart);
+        }
+        return out.toByteArray();
+    }
+
+    public static void decodeXor(byte[] encoded, byte[] target) {
+        int position = 0;
+        int index = 0;
+        while (position < encoded.length) {
+            int header = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[position++];
+                header |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int length = header >>> 1;
+            if ((header & 1) == 0) {
+                byte value = encoded[position++];
+                if (value != 0) {
+                    for (int end = index + length; index < end; index++) {
+                        target[index] ^= value;
+                    }
+                } else {
+                    index += length;
+                }
+            } else {
+                for (int end = index + length; index < end; index++) {
+                    target[index] ^= encoded[position++];
+                }
+            }
+        }
+    }
+
+    private static class ByteArrayBuilder {
+
+        private byte[] buffer;
+        private int size;
+
+        private ByteArrayBuilder(int capacity) {
+            this.buffer = new byte[capacity];
+            this.size = 0;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+            }
+        }
+
+        private void write(byte value) {
+            ensureCapacity(size + 1);
+            buffer[size++] = value;
+        }
+
+        private void write(byte[] data, int offset, int length) {
+            ensureCapacity(size + length);
+            System.arraycopy(data, offset, buffer, size, length);
+            size += length;
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((byte) value);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+}
@@ -21,7 +21,6 @@
 package com.loohp.imageframe.objectholders;
 
 import com.loohp.imageframe.utils.DitheringUtils;
-import org.bukkit.map.MapPalette;
 
 import java.awt.image.BufferedImage;
 import java.util.Collections;
@@ -32,14 +31,20 @@ import java.util.function.Function;
 public class DitheringType {
 
     private static final Map<String, DitheringType> REGISTERED_TYPES = new LinkedHashMap<>();
+    private static final PaletteLookupTable PALETTE_LOOKUP_TABLE = PaletteLookupTable.fromMapPalette();
 
-    @SuppressWarnings("removal")
-    public static final DitheringType NEAREST_COLOR = register(new DitheringType("nearest-color", image -> MapPalette.imageToBytes(image)));
-    public static final DitheringType FLOYD_STEINBERG = register(new DitheringType("floyd-steinberg", image -> DitheringUtils.floydSteinbergDithering(image)));
-    public static final DitheringType ATKINSON = register(new DitheringType("atkinson", image -> DitheringUtils.atkinsonDithering(image)));
-    public static final DitheringType ORDERED_BAYER_4X4 = register(new DitheringType("ordered-bayer-4x4", image -> DitheringUtils.orderedBayer4x4Dithering(image)));
-    public static final DitheringType ORDERED_BAYER_8X8 = register(new DitheringType("ordered-bayer-8x8", image -> DitheringUtils.orderedBayer8x8Dithering(image)));
-    public static final DitheringType SIERRA_LITE = register(new DitheringType("sierra-lite", image -> DitheringUtils.sierraLiteDithering(image)));
+    public static final DitheringType NEAREST_COLOR = register(new DitheringType("nearest-color", (image, palette) -> palette.imageToBytes(image)));
+    public static final DitheringType FLOYD_STEINBERG = register(new DitheringType("floyd-steinberg", (image, palette) -> DitheringUtils.floydSteinbergDithering(image, palette)));
+    public static final DitheringType ATKINSON = register(new DitheringType("atkinson", (image, palette) -> DitheringUtils.atkinsonDithering(image, palette)));
+    public static final DitheringType ORDERED_BAYER_4X4 = register(new DitheringType("ordered-bayer-4x4", (image, palette) -> DitheringUtils.orderedBayer4x4Dithering(image, palette)));
+    public static final DitheringType ORDERED_BAYER_8X8 = register(new DitheringType("ordered-bayer-8x8", (image, palette) -> DitheringUtils.orderedBayer8x8Dithering(image, palette)));
+    public static final DitheringType SIERRA_LITE = register(new DitheringType("sierra-lite", (image, palette) -> DitheringUtils.sierraLiteDithering(image, palette)));
+    public static final DitheringType NEAREST_COLOR_OKLAB = register(new DitheringType("nearest-color-oklab", (image, palette) -> palette.getPerceptualLookupTable(PerceptualColorSpace.OKLAB).imageToBytes(image)));
+    public static final DitheringType NEAREST_COLOR_CIELAB = register(new DitheringType("nearest-color-cielab", (image, palette) -> palette.getPerceptualLookupTable(PerceptualColorSpace.CIELAB).imageToBytes(image)));
+
+    public static PaletteLookupTable getPaletteLookupTable() {
+        return PALETTE_LOOKUP_TABLE;
+    }
 
     public static DitheringType register(DitheringType ditheringType) {
         REGISTERED_TYPES.put(ditheringType.getName(), ditheringType);
@@ -59,19 +64,32 @@ public class DitheringType {
     }
 
     private final String name;
-    private final Function<BufferedImage, byte[]> applyDithering;
+    private final DitheringFunction applyDithering;
 
-    public DitheringType(String name, Function<BufferedImage, byte[]> applyDithering) {
+    public DitheringType(String name, DitheringFunction applyDithering) {
         this.name = name;
         this.applyDithering = applyDithering;
     }
 
+    public DitheringType(String name, Function<BufferedImage, byte[]> applyDithering) {
+        this(name, (image, palette) -> applyDithering.apply(image));
+    }
+
     public String getName() {
         return name;
     }
 
     public byte[] applyDithering(BufferedImage image) {
-        return applyDithering.apply(image);
+        return applyDithering(image, getPaletteLookupTable());
+    }
+
+    public byte[] applyDithering(BufferedImage image, PaletteLookupTable palette) {
+        return applyDithering.apply(image, palette);
+    }
+
+    @FunctionalInterface
+    public interface DitheringFunction {
+        byte[] apply(BufferedImage image, PaletteLookupTable palette);
     }
 
 }
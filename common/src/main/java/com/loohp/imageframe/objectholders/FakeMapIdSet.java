@@ -0,0 +1,138 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.loohp.imageframe.objectholders;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class FakeMapIdSet {
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int WORDS_PER_PAGE = PAGE_SIZE >>> 6;
+    private static final int INITIAL_PAGES = 16;
+
+    private volatile AtomicReferenceArray<AtomicLongArray> pages;
+
+    public FakeMapIdSet() {
+        this.pages = new AtomicReferenceArray<>(INITIAL_PAGES);
+    }
+
+    private static long toOffset(int mapId) {
+        return (long) mapId - ImageMapManager.FAKE_MAP_ID_START_RANGE;
+    }
+
+    private AtomicLongArray getPage(long offset, boolean create) {
+        if (offset < 0) {
+            return null;
+        }
+        int pageIndex = (int) (offset >>> PAGE_BITS);
+        AtomicReferenceArray<AtomicLongArray> pages = this.pages;
+        AtomicLongArray page = pageIndex < pages.length() ? pages.get(pageIndex) : null;
+        if (page != null || !create) {
+            return page;
+        }
+        return createPage(pageIndex);
+    }
+
+    private synchronized AtomicLongArray createPage(int pageIndex) {
+        AtomicReferenceArray<AtomicLongArray> pages = this.pages;
+        if (pageIndex >= pages.length()) {
+            AtomicReferenceArray<AtomicLongArray> grown = new AtomicReferenceArray<>(Math.max(pageIndex + 1, pages.length() * 2));
+            for (int i = 0; i < pages.length(); i++) {
+                grown.set(i, pages.get(i));
+            }
+            this.pages = pages = grown;
+        }
+        AtomicLongArray page = pages.get(pageIndex);
+        if (page == null) {
+            page = new AtomicLongArray(WORDS_PER_PAGE);
+            pages.set(pageIndex, page);
+        }
+        return page;
+    }
+
+    public boolean contains(int mapId) {
+        long offset = toOffset(mapId);
+        AtomicLongArray page = getPage(offset, false);
+        if (page == null) {
+            return false;
+        }
+        int bit = (int) (offset & PAGE_MASK);
+        return (page.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    public boolean add(int mapId) {
+        long offset = toOffset(mapId);
+        AtomicLongArray page = getPage(offset, true);
+        if (page == null) {
+            return false;
+        }
+        int bit = (int) (offset & PAGE_MASK);
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    public boolean remove(int mapId) {
+        long offset = toOffset(mapId);
+        AtomicLongArray page = getPage(offset, false);
+        if (page == null) {
+            return false;
+        }
+        int bit = (int) (offset & PAGE_MASK);
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current & ~mask));
+        return true;
+    }
+
+    public void addAll(Collection<Integer> mapIds) {
+        for (int mapId : mapIds) {
+            add(mapId);
+        }
+    }
+
+    public void removeAll(Collection<Integer> mapIds) {
+        for (int mapId : mapIds) {
+            remove(mapId);
+        }
+    }
+
+    public synchronized void clear() {
+        pages = new AtomicReferenceArray<>(INITIAL_PAGES);
+    }
+
+}
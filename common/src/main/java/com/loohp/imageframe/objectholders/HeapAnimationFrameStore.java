@@ -0,0 +1,96 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+public class HeapAnimationFrameStore implements AnimationFrameStore {
+
+    private final byte[][][] frames;
+
+    public HeapAnimationFrameStore(byte[][][] frames) {
+        PaletteTilePool pool = PaletteTilePool.getInstance();
+        this.frames = new byte[frames.length][][];
+        for (int i = 0; i < frames.length; i++) {
+            if (frames[i] != null) {
+                this.frames[i] = pool.acquireAll(frames[i]);
+            }
+        }
+    }
+
+    @Override
+    public int getTileCount() {
+        return frames.length;
+    }
+
+    @Override
+    public int getFrameCount(int tile) {
+        byte[][] tileFrames = frames[tile];
+        return tileFrames == null ? 0 : tileFrames.length;
+    }
+
+    @Override
+    public boolean hasFrame(int tile, int frame) {
+        byte[][] tileFrames = frames[tile];
+        return tileFrames != null && tileFrames[frame] != null;
+    }
+
+    @Override
+    public byte[] getFrame(int tile, int frame) {
+        byte[][] tileFrames = frames[tile];
+        return tileFrames == null ? null : tileFrames[frame];
+    }
+
+    @Override
+    public boolean reusesFrameArrays() {
+        return false;
+    }
+
+    @Override
+    public byte[][][] toArray() {
+        return frames;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        long size = 0;
+        for (byte[][] tileFrames : frames) {
+            if (tileFrames != null) {
+                for (byte[] frame : tileFrames) {
+                    if (frame != null) {
+                        size += frame.length;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        PaletteTilePool pool = PaletteTilePool.getInstance();
+        for (int i = 0; i < frames.length; i++) {
+            if (frames[i] != null) {
+                pool.releaseAll(frames[i]);
+                frames[i] = null;
+            }
+        }
+    }
+
+}
@@ -50,6 +50,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -184,6 +185,63 @@ public abstract class ImageMap {
 
     protected abstract void unloadColorCache();
 
+    protected void markViewed() {
+        cacheControlTask.markViewed();
+    }
+
+    public long getColorCacheSizeInBytes() {
+        return 0;
+    }
+
+    protected Collection<LazyMappedBufferedImage> getSourceImages() {
+        return Collections.emptyList();
+    }
+
+    public long getDecodedImageSizeInBytes() {
+        Set<LazyMappedBufferedImage> images = Collections.newSetFromMap(new IdentityHashMap<>());
+        long size = 0;
+        for (LazyMappedBufferedImage image : getSourceImages()) {
+            if (image != null && images.add(image)) {
+                BufferedImage loaded = image.getIfLoaded();
+                if (loaded != null) {
+                    size += DecodedImageCache.getSizeInBytes(loaded);
+                }
+            }
+        }
+        return size;
+    }
+
+    public int getFakeMapIdCount() {
+        if (!requiresAnimationService()) {
+            return 0;
+        }
+        Set<Integer> fakeMapIds = getFakeMapIds();
+        return fakeMapIds == null ? 0 : fakeMapIds.size();
+    }
+
+    protected void invalidateDecodedImages() {
+        DecodedImageCache decodedImageCache = DecodedImageCache.getInstance();
+        for (LazyMappedBufferedImage image : getSourceImages()) {
+            if (image != null) {
+                decodedImageCache.invalidate(image);
+            }
+        }
+    }
+
+    public void evictCaches() {
+        invalidateDecodedImages();
+        if (cacheControlTask instanceof ImageMapDynamicCacheControlTask && !((ImageMapDynamicCacheControlTask) cacheControlTask).isLocked()) {
+            unloadColorCache();
+        }
+    }
+
+    protected LazyDataSource getColorCacheSource() {
+        if (imageIndex < 0) {
+            return null;
+        }
+        return manager.getStorage().getSource(imageIndex, ImageMapColorCache.FILE_NAME);
+    }
+
     public BufferedImage getOriginalImage(int mapId) {
         return null;
     }
@@ -208,6 +266,8 @@ public abstract class ImageMap {
     protected void markInvalid() {
         this.isValid = false;
         this.cacheControlTask.close();
+        unloadColorCache();
+        invalidateDecodedImages();
     }
 
     public boolean isValid() {
@@ -258,10 +318,18 @@ public abstract class ImageMap {
         throw new UnsupportedOperationException("this map does not require animation");
     }
 
+    public boolean isTileAnimated(int index) {
+        return requiresAnimationService();
+    }
+
     public int getAnimationFakeMapId(int currentTick, int index, boolean lookbehind) {
         throw new UnsupportedOperationException("this map does not require animation");
     }
 
+    public ItemStack getAnimationFakeMapItem(int mapId) {
+        throw new UnsupportedOperationException("this map does not require animation");
+    }
+
     public void sendAnimationFakeMaps(Collection<? extends Player> players, MapPacketSentCallback completionCallback) {
         throw new UnsupportedOperationException("this map does not require animation");
     }
@@ -426,6 +494,7 @@ public abstract class ImageMap {
                         if (prePlaceCheck.test(frame, item)) {
                             frame.setItem(item, false);
                             frame.setRotation(rotation);
+                            ImageFrame.animatedFakeMapManager.refreshItemFrame(frame);
                             return;
                         }
                     }
@@ -520,6 +589,7 @@ public abstract class ImageMap {
 
         @Override
         public void render(MapView mapView, MapCanvas canvas, Player player) {
+            imageMap.markViewed();
             MutablePair<byte[], Collection<MapCursor>> renderData = renderMap(mapView, 0, player);
             manager.callRenderEventListener(manager, imageMap, mapView, player, renderData);
             byte[] colors = renderData.getFirst();
@@ -532,13 +602,17 @@ public abstract class ImageMap {
         }
 
         public MutablePair<byte[], Collection<MapCursor>> renderPacketData(MapView mapView, int currentTick, Player player) {
+            imageMap.markViewed();
             MutablePair<byte[], Collection<MapCursor>> renderData = renderMap(mapView, currentTick, player);
+            renderData.setFirst(toPacketColors(renderData.getFirst()));
             manager.callRenderEventListener(manager, imageMap, mapView, player, renderData);
             return renderData;
         }
 
         public MutablePair<byte[], Collection<MapCursor>> renderPacketData(MapView mapView, Player player) {
+            imageMap.markViewed();
             MutablePair<byte[], Collection<MapCursor>> renderData = renderMap(mapView, player);
+            renderData.setFirst(toPacketColors(renderData.getFirst()));
             manager.callRenderEventListener(manager, imageMap, mapView, player, renderData);
             return renderData;
         }
@@ -547,6 +621,10 @@ public abstract class ImageMap {
             return renderMap(mapView, player);
         }
 
+        protected byte[] toPacketColors(byte[] colors) {
+            return colors;
+        }
+
         public abstract MutablePair<byte[], Collection<MapCursor>> renderMap(MapView mapView, Player player);
 
     }
@@ -0,0 +1,150 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import com.loohp.imageframe.ImageFrame;
+import com.loohp.platformscheduler.ScheduledTask;
+import com.loohp.platformscheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ImageMapCacheControlService implements AutoCloseable {
+
+    public static final int CHECK_INTERVAL = 20;
+    public static final long IDLE_UNLOAD_MILLIS = 50000;
+
+    private final Set<ImageMapDynamicCacheControlTask> tasks;
+    private final ScheduledTask task;
+    private final AtomicBoolean running;
+    private volatile long memoryBudget;
+    private volatile long memoryUsage;
+
+    public ImageMapCacheControlService(long memoryBudget) {
+        this.tasks = ConcurrentHashMap.newKeySet();
+        this.memoryBudget = memoryBudget;
+        this.memoryUsage = 0;
+        this.running = new AtomicBoolean(false);
+        this.task = Scheduler.runTaskTimerAsynchronously(ImageFrame.plugin, () -> run(), CHECK_INTERVAL, CHECK_INTERVAL);
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    public long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public Set<ImageMapDynamicCacheControlTask> getTasks() {
+        return Collections.unmodifiableSet(tasks);
+    }
+
+    protected void register(ImageMapDynamicCacheControlTask task) {
+        tasks.add(task);
+    }
+
+    protected void unregister(ImageMapDynamicCacheControlTask task) {
+        tasks.remove(task);
+    }
+
+    private void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            check();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    protected void load(ImageMapDynamicCacheControlTask task) {
+        if (!task.tryStartLoading()) {
+            return;
+        }
+        Scheduler.runTaskAsynchronously(ImageFrame.plugin, () -> {
+            try {
+                ImageMap imageMap = task.getImageMap();
+                if (!task.isClosed() && !imageMap.hasColorCached()) {
+                    imageMap.loadColorCache();
+                }
+            } finally {
+                task.finishLoading();
+            }
+        });
+    }
+
+    private void check() {
+        long now = System.currentTimeMillis();
+        long usage = 0;
+        List<ImageMapDynamicCacheControlTask> evictable = new ArrayList<>();
+        for (ImageMapDynamicCacheControlTask task : tasks) {
+            if (task.isClosed()) {
+                tasks.remove(task);
+                continue;
+            }
+            ImageMap imageMap = task.getImageMap();
+            if (!task.isLocked() && !task.isLoading() && now - task.getLastViewed() > IDLE_UNLOAD_MILLIS && imageMap.hasColorCached()) {
+                imageMap.unloadColorCache();
+            }
+            if (imageMap.hasColorCached()) {
+                long size = imageMap.getColorCacheSizeInBytes();
+                task.setMemoryUsage(size);
+                usage += size;
+                if (!task.isLocked() && !task.isLoading() && task.getLastViewed() < now) {
+                    evictable.add(task);
+                }
+            } else {
+                task.setMemoryUsage(0);
+            }
+        }
+        long memoryBudget = this.memoryBudget;
+        if (memoryBudget > 0 && usage > memoryBudget) {
+            evictable.sort(Comparator.comparingLong(each -> each.getLastViewed()));
+            for (ImageMapDynamicCacheControlTask task : evictable) {
+                if (usage <= memoryBudget) {
+                    break;
+                }
+                usage -= task.getMemoryUsage();
+                task.getImageMap().unloadColorCache();
+                task.setMemoryUsage(0);
+            }
+        }
+        this.memoryUsage = usage;
+    }
+
+    @Override
+    public void close() {
+        task.cancel();
+        tasks.clear();
+    }
+
+}
@@ -26,6 +26,8 @@ public interface ImageMapCacheControlTask extends AutoCloseable {
 
     void loadCacheIfManual();
 
+    void markViewed();
+
     boolean isClosed();
 
     @Override
@@ -0,0 +1,231 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public class ImageMapColorCache {
+
+    public static final String FILE_NAME = "colors.bin";
+    public static final int FILE_MAGIC = 0x49464343;
+    public static final int FILE_VERSION = 1;
+
+    public static String computeKey(LazyMappedBufferedImage[] images, DitheringType ditheringType) {
+        LazyMappedBufferedImage[][] tiles = new LazyMappedBufferedImage[images.length][];
+        for (int i = 0; i < images.length; i++) {
+            tiles[i] = new LazyMappedBufferedImage[] {images[i]};
+        }
+        return computeKey(tiles, ditheringType, false);
+    }
+
+    public static String computeKey(LazyMappedBufferedImage[][] images, DitheringType ditheringType, boolean temporalDithering) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            DataOutputStream out = new DataOutputStream(new MessageDigestOutputStream(digest));
+            out.writeInt(FILE_VERSION);
+            out.writeUTF(ditheringType == null ? "" : ditheringType.getName());
+            out.writeBoolean(temporalDithering);
+            out.writeUTF(DitheringType.getPaletteLookupTable().getFingerprint());
+            out.writeInt(images.length);
+            Map<LazyDataSource, byte[]> sourceHashes = new HashMap<>();
+            for (LazyMappedBufferedImage[] frames : images) {
+                if (frames == null) {
+                    return null;
+                }
+                out.writeInt(frames.length);
+                for (LazyMappedBufferedImage image : frames) {
+                    LazyDataSource source = image == null ? null : image.getSource();
+                    if (source == null) {
+                        return null;
+                    }
+                    byte[] hash = sourceHashes.get(source);
+                    if (hash == null) {
+                        hash = source.load(in -> hashContent(in));
+                        if (hash == null) {
+                            return null;
+                        }
+                        sourceHashes.put(source, hash);
+                    }
+                    out.write(hash);
+                }
+            }
+            out.flush();
+            return toHex(digest.digest());
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            return null;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            new RuntimeException("Unable to compute color cache key", e).printStackTrace();
+            return null;
+        }
+    }
+
+    public static byte[][][] load(LazyDataSource source, String key) {
+        if (source == null || key == null) {
+            return null;
+        }
+        try {
+            return source.load(in -> read(in, key));
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            new RuntimeException("Unable to load color cache from " + source.getFileName(), e).printStackTrace();
+            return null;
+        }
+    }
+
+    public static byte[][] loadSingleFrame(LazyDataSource source, String key) {
+        byte[][][] colors = load(source, key);
+        if (colors == null) {
+            return null;
+        }
+        byte[][] result = new byte[colors.length][];
+        for (int i = 0; i < colors.length; i++) {
+            if (colors[i] == null || colors[i].length != 1 || colors[i][0] == null) {
+                return null;
+            }
+            result[i] = colors[i][0];
+        }
+        return result;
+    }
+
+    public static void save(LazyDataSource source, String key, byte[][][] colors) {
+        if (source == null || key == null || colors == null) {
+            return;
+        }
+        try {
+            source.save(out -> {
+                DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED))));
+                dataOut.writeInt(FILE_MAGIC);
+                dataOut.writeInt(FILE_VERSION);
+                dataOut.writeUTF(key);
+                dataOut.writeInt(colors.length);
+                for (byte[][] frames : colors) {
+                    dataOut.writeInt(frames.length);
+                    for (byte[] frame : frames) {
+                        if (frame == null) {
+                            dataOut.writeInt(-1);
+                        } else {
+                            dataOut.writeInt(frame.length);
+                            dataOut.write(frame);
+                        }
+                    }
+                }
+                dataOut.close();
+            });
+        } catch (IOException e) {
+            new RuntimeException("Unable to save color cache to " + source.getFileName(), e).printStackTrace();
+        }
+    }
+
+    public static void saveSingleFrame(LazyDataSource source, String key, byte[][] colors) {
+        if (colors == null) {
+            return;
+        }
+        byte[][][] frames = new byte[colors.length][][];
+        for (int i = 0; i < colors.length; i++) {
+            frames[i] = new byte[][] {colors[i]};
+        }
+        save(source, key, frames);
+    }
+
+    private static byte[][][] read(InputStream inputStream, String key) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(inputStream)));
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+            return null;
+        }
+        if (!in.readUTF().equals(key)) {
+            return null;
+        }
+        byte[][][] colors = new byte[in.readInt()][][];
+        for (int i = 0; i < colors.length; i++) {
+            byte[][] frames = new byte[in.readInt()][];
+            for (int u = 0; u < frames.length; u++) {
+                int length = in.readInt();
+                if (length >= 0) {
+                    byte[] frame = new byte[length];
+                    in.readFully(frame);
+                    frames[u] = frame;
+                }
+            }
+            colors[i] = frames;
+        }
+        return colors;
+    }
+
+    private static byte[] hashContent(InputStream in) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static class MessageDigestOutputStream extends OutputStream {
+
+        private final MessageDigest digest;
+
+        private MessageDigestOutputStream(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            digest.update(b, off, len);
+        }
+
+    }
+
+}
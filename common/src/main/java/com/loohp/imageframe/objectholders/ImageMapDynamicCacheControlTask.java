@@ -21,29 +21,28 @@
 package com.loohp.imageframe.objectholders;
 
 import com.loohp.imageframe.ImageFrame;
-import com.loohp.platformscheduler.ScheduledTask;
-import com.loohp.platformscheduler.Scheduler;
 
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 
-public class ImageMapDynamicCacheControlTask implements ImageMapCacheControlTask, Runnable {
+public class ImageMapDynamicCacheControlTask implements ImageMapCacheControlTask {
     
     private final ImageMap imageMap;
 
     private final AtomicBoolean locked;
     private final AtomicBoolean closed;
+    private final AtomicBoolean loading;
 
-    private final AtomicReference<ScheduledTask> task;
-    private final AtomicInteger noViewerCounts;
+    private volatile long lastViewed;
+    private volatile long memoryUsage;
 
     public ImageMapDynamicCacheControlTask(ImageMap imageMap) {
         this.imageMap = imageMap;
-        this.noViewerCounts = new AtomicInteger(0);
         this.locked = new AtomicBoolean(false);
         this.closed = new AtomicBoolean(false);
-        this.task = new AtomicReference<>(Scheduler.runTaskLaterAsynchronously(ImageFrame.plugin, this, 5));
+        this.loading = new AtomicBoolean(false);
+        this.lastViewed = System.currentTimeMillis();
+        this.memoryUsage = 0;
+        ImageFrame.imageMapCacheControlService.register(this);
     }
 
     @Override
@@ -56,6 +55,14 @@ public class ImageMapDynamicCacheControlTask implements ImageMapCacheControlTask
 
     }
 
+    @Override
+    public void markViewed() {
+        lastViewed = System.currentTimeMillis();
+        if (!isLocked() && !isClosed() && !imageMap.hasColorCached()) {
+            ImageFrame.imageMapCacheControlService.load(this);
+        }
+    }
+
     public boolean isLocked() {
         return locked.get();
     }
@@ -64,24 +71,32 @@ public class ImageMapDynamicCacheControlTask implements ImageMapCacheControlTask
         this.locked.set(locked);
     }
 
-    @Override
-    public void run() {
-        if (closed.get()) {
-            return;
-        }
-        if (!locked.get()) {
-            if (imageMap.hasViewers()) {
-                noViewerCounts.set(0);
-                if (!imageMap.hasColorCached()) {
-                    imageMap.loadColorCache();
-                }
-            } else {
-                if (noViewerCounts.getAndIncrement() > 200 && imageMap.hasColorCached()) {
-                    imageMap.unloadColorCache();
-                }
-            }
-        }
-        this.task.set(Scheduler.runTaskLaterAsynchronously(ImageFrame.plugin, this, 5));
+    public boolean isLoading() {
+        return loading.get();
+    }
+
+    protected boolean tryStartLoading() {
+        return loading.compareAndSet(false, true);
+    }
+
+    protected void finishLoading() {
+        loading.set(false);
+    }
+
+    public long getLastViewed() {
+        return lastViewed;
+    }
+
+    protected void setLastViewed(long lastViewed) {
+        this.lastViewed = lastViewed;
+    }
+
+    public long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    protected void setMemoryUsage(long memoryUsage) {
+        this.memoryUsage = memoryUsage;
     }
 
     @Override
@@ -92,11 +107,6 @@ public class ImageMapDynamicCacheControlTask implements ImageMapCacheControlTask
     @Override
     public void close() {
         closed.set(true);
-        task.updateAndGet(t -> {
-            if (t != null) {
-                t.cancel();
-            }
-            return t;
-        });
+        ImageFrame.imageMapCacheControlService.unregister(this);
     }
 }
@@ -104,6 +104,15 @@ public class ImageMapManager implements AutoCloseable {
     }
 
     protected void callRenderEventListener(ImageMapManager manager, ImageMap imageMap, MapView map, Player player, MutablePair<byte[], Collection<MapCursor>> renderData) {
+        byte[] colors = renderData.getFirst();
+        if (colors != null) {
+            for (ImageMapRenderEventListener listener : renderEventListeners) {
+                if (listener.mutatesColors()) {
+                    renderData.setFirst(colors.clone());
+                    break;
+                }
+            }
+        }
         renderEventListeners.forEach(each -> each.accept(manager, imageMap, map, player, renderData));
     }
 
@@ -178,6 +187,19 @@ public class ImageMapManager implements AutoCloseable {
         return maps.values().stream().filter(each -> each.requiresAnimationService() && each.getFakeMapIds().contains(fakeMapId)).findFirst().orElse(null);
     }
 
+    public ImageMapMemoryUsage getMemoryUsage(ImageMap map, boolean includeDiskSize) {
+        long diskSize = includeDiskSize && map.getImageIndex() >= 0 ? imageFrameStorage.getImageMapDataSize(map.getImageIndex()) : -1;
+        return new ImageMapMemoryUsage(map, map.getColorCacheSizeInBytes(), map.getDecodedImageSizeInBytes(), map.getFakeMapIdCount(), diskSize);
+    }
+
+    public List<ImageMapMemoryUsage> getMemoryUsages(boolean includeDiskSize) {
+        return maps.values().stream().map(each -> getMemoryUsage(each, includeDiskSize)).sorted(ImageMapMemoryUsage.BY_MEMORY_DESCENDING).collect(Collectors.toList());
+    }
+
+    public List<ImageMapMemoryUsage> getTopMemoryUsages(int limit, boolean includeDiskSize) {
+        return maps.values().stream().map(each -> getMemoryUsage(each, false)).sorted(ImageMapMemoryUsage.BY_MEMORY_DESCENDING).limit(limit).map(each -> includeDiskSize ? getMemoryUsage(each.getImageMap(), true) : each).collect(Collectors.toList());
+    }
+
     public boolean deleteMap(int imageIndex) {
         ImageMap imageMap = maps.remove(imageIndex);
         if (imageMap == null) {
@@ -42,6 +42,11 @@ public class ImageMapManualPersistentCacheControlTask implements ImageMapCacheCo
         imageMap.loadColorCache();
     }
 
+    @Override
+    public void markViewed() {
+
+    }
+
     @Override
     public boolean isClosed() {
         return closed.get();
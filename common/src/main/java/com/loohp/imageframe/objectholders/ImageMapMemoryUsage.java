@@ -0,0 +1,67 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.util.Comparator;
+
+public class ImageMapMemoryUsage {
+
+    public static final Comparator<ImageMapMemoryUsage> BY_MEMORY_DESCENDING = Comparator.comparingLong(ImageMapMemoryUsage::getMemorySizeInBytes).reversed();
+
+    private final ImageMap imageMap;
+    private final long colorCacheSizeInBytes;
+    private final long decodedImageSizeInBytes;
+    private final int fakeMapIdCount;
+    private final long diskSizeInBytes;
+
+    public ImageMapMemoryUsage(ImageMap imageMap, long colorCacheSizeInBytes, long decodedImageSizeInBytes, int fakeMapIdCount, long diskSizeInBytes) {
+        this.imageMap = imageMap;
+        this.colorCacheSizeInBytes = colorCacheSizeInBytes;
+        this.decodedImageSizeInBytes = decodedImageSizeInBytes;
+        this.fakeMapIdCount = fakeMapIdCount;
+        this.diskSizeInBytes = diskSizeInBytes;
+    }
+
+    public ImageMap getImageMap() {
+        return imageMap;
+    }
+
+    public long getColorCacheSizeInBytes() {
+        return colorCacheSizeInBytes;
+    }
+
+    public long getDecodedImageSizeInBytes() {
+        return decodedImageSizeInBytes;
+    }
+
+    public int getFakeMapIdCount() {
+        return fakeMapIdCount;
+    }
+
+    public long getDiskSizeInBytes() {
+        return diskSizeInBytes;
+    }
+
+    public long getMemorySizeInBytes() {
+        return colorCacheSizeInBytes + decodedImageSizeInBytes;
+    }
+
+}
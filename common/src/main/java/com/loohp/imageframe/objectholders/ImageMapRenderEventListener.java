@@ -31,4 +31,8 @@ public interface ImageMapRenderEventListener {
 
     void accept(ImageMapManager manager, ImageMap imageMap, MapView map, Player player, MutablePair<byte[], Collection<MapCursor>> renderData);
 
+    default boolean mutatesColors() {
+        return true;
+    }
+
 }
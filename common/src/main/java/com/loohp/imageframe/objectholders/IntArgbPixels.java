@@ -0,0 +1,129 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+public class IntArgbPixels {
+
+    public static IntArgbPixels of(BufferedImage image) {
+        return new IntArgbPixels(toIntArgb(image));
+    }
+
+    public static IntArgbPixels create(int width, int height) {
+        return new IntArgbPixels(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    public static BufferedImage toIntArgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        BufferedImage converted = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        converted.setRGB(0, 0, w, h, image.getRGB(0, 0, w, h, null, 0, w), 0, w);
+        return converted;
+    }
+
+    private final BufferedImage image;
+    private final int[] data;
+    private final int offset;
+    private final int scanlineStride;
+    private final int width;
+    private final int height;
+
+    private IntArgbPixels(BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+        SinglePixelPackedSampleModel sampleModel = (SinglePixelPackedSampleModel) raster.getSampleModel();
+        DataBufferInt dataBuffer = (DataBufferInt) raster.getDataBuffer();
+        this.image = image;
+        this.data = dataBuffer.getData();
+        this.scanlineStride = sampleModel.getScanlineStride();
+        this.offset = dataBuffer.getOffset() + sampleModel.getOffset(-raster.getSampleModelTranslateX(), -raster.getSampleModelTranslateY());
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int[] getData() {
+        return data;
+    }
+
+    public int getOffset(int x, int y) {
+        return offset + y * scanlineStride + x;
+    }
+
+    public int getScanlineStride() {
+        return scanlineStride;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getPixel(int x, int y) {
+        return data[offset + y * scanlineStride + x];
+    }
+
+    public void setPixel(int x, int y, int argb) {
+        data[offset + y * scanlineStride + x] = argb;
+    }
+
+    public void getRow(int y, int[] row) {
+        System.arraycopy(data, offset + y * scanlineStride, row, 0, width);
+    }
+
+    public void copyTo(int srcX, int srcY, IntArgbPixels target, int destX, int destY, int width, int height) {
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(data, getOffset(srcX, srcY + y), target.data, target.getOffset(destX, destY + y), width);
+        }
+    }
+
+    public boolean contentEquals(IntArgbPixels other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || width != other.width || height != other.height) {
+            return false;
+        }
+        for (int y = 0; y < height; y++) {
+            int i = getOffset(0, y);
+            int u = other.getOffset(0, y);
+            for (int x = 0; x < width; x++) {
+                if (data[i++] != other.data[u++]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
@@ -30,6 +30,8 @@ public interface LazyDataSource {
 
     void save(Writer writer) throws IOException;
 
+    void delete() throws IOException;
+
     String getFileName();
 
     LazyDataSource withFileName(String fileName);
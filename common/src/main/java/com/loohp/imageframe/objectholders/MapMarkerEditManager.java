@@ -67,18 +67,26 @@ public class MapMarkerEditManager implements Listener, AutoCloseable {
 
     public MapMarkerEditManager() {
         this.activeEditing = new ConcurrentHashMap<>();
-        this.renderEventListener = (manager, imageMap, map, player, renderData) -> {
-            Collection<MapCursor> cursors = renderData.getSecond();
-            List<MapCursor> additionCursors = new LinkedList<>();
-            for (MapMarkerEditData data : activeEditing.values()) {
-                MapView targetMap = data.getCurrentTargetMap();
-                if (targetMap != null && targetMap.equals(map) && data.getImageMap().equals(imageMap)) {
-                    additionCursors.add(data.getMapCursor());
+        this.renderEventListener = new ImageMapRenderEventListener() {
+            @Override
+            public void accept(ImageMapManager manager, ImageMap imageMap, MapView map, Player player, MutablePair<byte[], Collection<MapCursor>> renderData) {
+                Collection<MapCursor> cursors = renderData.getSecond();
+                List<MapCursor> additionCursors = new LinkedList<>();
+                for (MapMarkerEditData data : activeEditing.values()) {
+                    MapView targetMap = data.getCurrentTargetMap();
+                    if (targetMap != null && targetMap.equals(map) && data.getImageMap().equals(imageMap)) {
+                        additionCursors.add(data.getMapCursor());
+                    }
+                }
+                if (!additionCursors.isEmpty()) {
+                    additionCursors.addAll(cursors);
+                    renderData.setSecond(additionCursors);
                 }
             }
-            if (!additionCursors.isEmpty()) {
-                additionCursors.addAll(cursors);
-                renderData.setSecond(additionCursors);
+
+            @Override
+            public boolean mutatesColors() {
+                return false;
             }
         };
         ImageFrame.imageMapManager.appendRenderEventListener(renderEventListener);
@@ -0,0 +1,134 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class PaletteKdTree {
+
+    private final double[][] points;
+    private final int[] indexes;
+    private final int[] axes;
+
+    public PaletteKdTree(double[][] points, int[] indexes) {
+        if (points.length != indexes.length) {
+            throw new IllegalArgumentException("points length does not equal indexes length");
+        }
+        if (points.length == 0) {
+            throw new IllegalArgumentException("points cannot be empty");
+        }
+        Integer[] order = new Integer[points.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        this.axes = new int[points.length];
+        build(points, order, 0, order.length);
+        this.points = new double[points.length][];
+        this.indexes = new int[points.length];
+        for (int i = 0; i < order.length; i++) {
+            this.points[i] = points[order[i]].clone();
+            this.indexes[i] = indexes[order[i]];
+        }
+    }
+
+    private void build(double[][] points, Integer[] order, int from, int to) {
+        if (to - from <= 0) {
+            return;
+        }
+        int axis = 0;
+        double widestSpread = -1;
+        for (int a = 0; a < 3; a++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double value = points[order[i]][a];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                axis = a;
+            }
+        }
+        int sortAxis = axis;
+        Arrays.sort(order, from, to, Comparator.comparingDouble(i -> points[i][sortAxis]));
+        int middle = (from + to) >>> 1;
+        axes[middle] = axis;
+        build(points, order, from, middle);
+        build(points, order, middle + 1, to);
+    }
+
+    public Query newQuery() {
+        return new Query();
+    }
+
+    public class Query {
+
+        private double[] target;
+        private int bestNode;
+        private double bestDistance;
+
+        private Query() {
+            this.bestNode = 0;
+        }
+
+        public int nearest(double[] target) {
+            this.target = target;
+            this.bestDistance = distance(bestNode);
+            search(0, points.length);
+            return indexes[bestNode];
+        }
+
+        private double distance(int node) {
+            double[] point = points[node];
+            double d0 = target[0] - point[0];
+            double d1 = target[1] - point[1];
+            double d2 = target[2] - point[2];
+            return d0 * d0 + d1 * d1 + d2 * d2;
+        }
+
+        private void search(int from, int to) {
+            if (to - from <= 0) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            double distance = distance(middle);
+            if (distance < bestDistance || (distance == bestDistance && indexes[middle] < indexes[bestNode])) {
+                bestDistance = distance;
+                bestNode = middle;
+            }
+            double delta = target[axes[middle]] - points[middle][axes[middle]];
+            if (delta < 0) {
+                search(from, middle);
+                if (delta * delta <= bestDistance) {
+                    search(middle + 1, to);
+                }
+            } else {
+                search(middle + 1, to);
+                if (delta * delta <= bestDistance) {
+                    search(from, middle);
+                }
+            }
+        }
+    }
+
+}
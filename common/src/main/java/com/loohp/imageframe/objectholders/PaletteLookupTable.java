@@ -0,0 +1,364 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import com.loohp.imageframe.utils.MapUtils;
+import org.bukkit.map.MapPalette;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public class PaletteLookupTable {
+
+    public static final int TABLE_SIZE = 1 << 24;
+    public static final int TABLE_FILE_MAGIC = 0x4946504C;
+    public static final int TABLE_FILE_VERSION = 1;
+    public static final String TABLE_FILE_EXTENSION = ".bin";
+
+    @SuppressWarnings("removal")
+    public static PaletteLookupTable fromMapPalette() {
+        int[] colors = new int[256];
+        int size = 0;
+        for (int i = 0; i < colors.length; i++) {
+            try {
+                colors[i] = MapPalette.getColor((byte) i).getRGB();
+                size++;
+            } catch (IndexOutOfBoundsException e) {
+                break;
+            }
+        }
+        return new PaletteLookupTable(Arrays.copyOf(colors, size));
+    }
+
+    protected final int[] colors;
+    protected final int[] reds;
+    protected final int[] greens;
+    protected final int[] blues;
+    protected final int[] matchableIndexes;
+    private final Map<PerceptualColorSpace, PerceptualPaletteLookupTable> perceptualLookupTables;
+    private volatile String fingerprint;
+    private volatile File cacheFolder;
+    private volatile ByteBuffer table;
+
+    public PaletteLookupTable(int[] colors) {
+        if (colors.length > 256) {
+            throw new IllegalArgumentException("Palette cannot contain more than 256 colors");
+        }
+        this.colors = colors.clone();
+        this.reds = new int[colors.length];
+        this.greens = new int[colors.length];
+        this.blues = new int[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            int color = colors[i];
+            reds[i] = (color >> 16) & 0xFF;
+            greens[i] = (color >> 8) & 0xFF;
+            blues[i] = color & 0xFF;
+        }
+        this.matchableIndexes = IntStream.range(0, colors.length).filter(i -> (colors[i] >>> 24) >= 128).toArray();
+        if (matchableIndexes.length == 0) {
+            throw new IllegalArgumentException("Palette does not contain any opaque colors");
+        }
+        this.perceptualLookupTables = new EnumMap<>(PerceptualColorSpace.class);
+        this.fingerprint = null;
+        this.cacheFolder = null;
+        this.table = null;
+    }
+
+    private String computeFingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(getTableType().getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.allocate(4 + colors.length * 4);
+            buffer.putInt(TABLE_FILE_VERSION);
+            for (int color : colors) {
+                buffer.putInt(color);
+            }
+            digest.update(buffer.array());
+            byte[] hash = digest.digest();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                sb.append(String.format("%02x", hash[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected String getTableType() {
+        return "rgb";
+    }
+
+    public String getFingerprint() {
+        String fingerprint = this.fingerprint;
+        if (fingerprint == null) {
+            this.fingerprint = fingerprint = computeFingerprint();
+        }
+        return fingerprint;
+    }
+
+    public File getCacheFolder() {
+        return cacheFolder;
+    }
+
+    public void setCacheFolder(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    public int size() {
+        return colors.length;
+    }
+
+    public int getColor(byte index) {
+        return colors[index & 0xFF];
+    }
+
+    public int getRed(byte index) {
+        return reds[index & 0xFF];
+    }
+
+    public int getGreen(byte index) {
+        return greens[index & 0xFF];
+    }
+
+    public int getBlue(byte index) {
+        return blues[index & 0xFF];
+    }
+
+    public synchronized PerceptualPaletteLookupTable getPerceptualLookupTable(PerceptualColorSpace colorSpace) {
+        PerceptualPaletteLookupTable lookupTable = perceptualLookupTables.get(colorSpace);
+        if (lookupTable == null) {
+            perceptualLookupTables.put(colorSpace, lookupTable = new PerceptualPaletteLookupTable(colors, colorSpace));
+            lookupTable.setCacheFolder(cacheFolder);
+            ForkJoinPool.commonPool().execute(lookupTable::build);
+        }
+        return lookupTable;
+    }
+
+    public boolean isBuilt() {
+        return table != null;
+    }
+
+    public byte matchColor(int argb) {
+        if ((argb >>> 24) < 128) {
+            return MapUtils.PALETTE_TRANSPARENT;
+        }
+        return matchColor((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+    }
+
+    public byte matchColor(int red, int green, int blue) {
+        ByteBuffer table = this.table;
+        if (table != null) {
+            return table.get((red << 16) | (green << 8) | blue);
+        }
+        return (byte) matchIndexDirect(red, green, blue);
+    }
+
+    public byte[] imageToBytes(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        BufferedImage temp = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = temp.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        int[] pixels = ((DataBufferInt) temp.getRaster().getDataBuffer()).getData();
+        byte[] result = new byte[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            result[i] = matchColor(pixels[i]);
+        }
+        return result;
+    }
+
+    public synchronized void build() {
+        if (table != null) {
+            return;
+        }
+        File cacheFolder = this.cacheFolder;
+        File file = cacheFolder == null ? null : new File(cacheFolder, getTableType() + "-" + getFingerprint() + TABLE_FILE_EXTENSION);
+        if (file != null && file.exists()) {
+            try {
+                this.table = mapTableFile(file);
+                return;
+            } catch (IOException e) {
+                new RuntimeException("Unable to load palette lookup table from " + file.getAbsolutePath() + ", rebuilding", e).printStackTrace();
+            }
+        }
+        byte[] table = new byte[TABLE_SIZE];
+        IntStream.range(0, 256).parallel().forEach(red -> buildRedSlice(table, red));
+        if (file != null) {
+            try {
+                saveTableFile(file, table);
+                this.table = mapTableFile(file);
+                deleteOutdatedTableFiles(cacheFolder, file);
+                return;
+            } catch (IOException e) {
+                new RuntimeException("Unable to save palette lookup table to " + file.getAbsolutePath(), e).printStackTrace();
+            }
+        }
+        this.table = ByteBuffer.wrap(table);
+    }
+
+    private ByteBuffer mapTableFile(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            byte[] fingerprintBytes = getFingerprint().getBytes(StandardCharsets.UTF_8);
+            int headerSize = 8 + fingerprintBytes.length;
+            if (channel.size() != headerSize + TABLE_SIZE) {
+                throw new IOException("Palette lookup table file has unexpected size " + channel.size());
+            }
+            ByteBuffer header = ByteBuffer.allocate(headerSize);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Unexpected end of palette lookup table file");
+                }
+            }
+            header.flip();
+            if (header.getInt() != TABLE_FILE_MAGIC || header.getInt() != TABLE_FILE_VERSION) {
+                throw new IOException("Palette lookup table file has an unknown format");
+            }
+            byte[] storedFingerprint = new byte[fingerprintBytes.length];
+            header.get(storedFingerprint);
+            if (!Arrays.equals(storedFingerprint, fingerprintBytes)) {
+                throw new IOException("Palette lookup table file does not match the current palette");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, headerSize, TABLE_SIZE);
+        }
+    }
+
+    private void saveTableFile(File file, byte[] table) throws IOException {
+        file.getParentFile().mkdirs();
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+            out.writeInt(TABLE_FILE_MAGIC);
+            out.writeInt(TABLE_FILE_VERSION);
+            out.write(getFingerprint().getBytes(StandardCharsets.UTF_8));
+            out.write(table);
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteOutdatedTableFiles(File cacheFolder, File currentFile) {
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        String prefix = getTableType() + "-";
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(prefix) && name.endsWith(TABLE_FILE_EXTENSION) && !file.equals(currentFile)) {
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    protected int matchIndexDirect(int red, int green, int blue) {
+        int index = matchableIndexes[0];
+        double best = -1;
+        for (int i : matchableIndexes) {
+            double rmean = (red + reds[i]) / 2.0;
+            double r = red - reds[i];
+            double g = green - greens[i];
+            int b = blue - blues[i];
+            double weightR = 2 + rmean / 256.0;
+            double weightG = 4.0;
+            double weightB = 2 + (255 - rmean) / 256.0;
+            double distance = weightR * r * r + weightG * g * g + weightB * b * b;
+            if (distance < best || best == -1) {
+                best = distance;
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    protected void buildRedSlice(byte[] table, int red) {
+        int length = matchableIndexes.length;
+        double[] redDistances = new double[length];
+        double[] blueWeights = new double[length];
+        double[] redGreenDistances = new double[length];
+        int[] order = new int[length];
+        for (int k = 0; k < length; k++) {
+            int i = matchableIndexes[k];
+            double rmean = (red + reds[i]) / 2.0;
+            double r = red - reds[i];
+            double weightR = 2 + rmean / 256.0;
+            redDistances[k] = weightR * r * r;
+            blueWeights[k] = 2 + (255 - rmean) / 256.0;
+            order[k] = k;
+        }
+        int bestK = 0;
+        for (int green = 0; green < 256; green++) {
+            for (int k = 0; k < length; k++) {
+                double g = green - greens[matchableIndexes[k]];
+                redGreenDistances[k] = redDistances[k] + 4.0 * g * g;
+            }
+            for (int j = 1; j < length; j++) {
+                int k = order[j];
+                double distance = redGreenDistances[k];
+                int u = j - 1;
+                while (u >= 0 && redGreenDistances[order[u]] > distance) {
+                    order[u + 1] = order[u];
+                    u--;
+                }
+                order[u + 1] = k;
+            }
+            for (int blue = 0; blue < 256; blue++) {
+                int b = blue - blues[matchableIndexes[bestK]];
+                double best = redGreenDistances[bestK] + blueWeights[bestK] * b * b;
+                for (int j = 0; j < length; j++) {
+                    int k = order[j];
+                    if (redGreenDistances[k] > best) {
+                        break;
+                    }
+                    b = blue - blues[matchableIndexes[k]];
+                    double distance = redGreenDistances[k] + blueWeights[k] * b * b;
+                    if (distance < best || (distance == best && k < bestK)) {
+                        best = distance;
+                        bestK = k;
+                    }
+                }
+                table[(red << 16) | (green << 8) | blue] = (byte) matchableIndexes[bestK];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PaletteTilePool {
+
+    private static final PaletteTilePool INSTANCE = new PaletteTilePool();
+
+    public static PaletteTilePool getInstance() {
+        return INSTANCE;
+    }
+
+    private final Map<Tile, Tile> tiles;
+
+    public PaletteTilePool() {
+        this.tiles = new ConcurrentHashMap<>();
+    }
+
+    public byte[] acquire(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Tile tile = tiles.compute(new Tile(data), (k, v) -> {
+            if (v == null) {
+                v = k;
+            }
+            v.references++;
+            return v;
+        });
+        return tile.data;
+    }
+
+    public byte[][] acquireAll(byte[][] data) {
+        byte[][] result = new byte[data.length][];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = acquire(data[i]);
+        }
+        return result;
+    }
+
+    public void release(byte[] data) {
+        if (data == null) {
+            return;
+        }
+        tiles.computeIfPresent(new Tile(data), (k, v) -> {
+            if (v.data != data) {
+                return v;
+            }
+            return --v.references <= 0 ? null : v;
+        });
+    }
+
+    public void releaseAll(byte[][] data) {
+        for (byte[] each : data) {
+            release(each);
+        }
+    }
+
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    public long getSizeInBytes() {
+        long size = 0;
+        for (Tile tile : tiles.keySet()) {
+            size += tile.data.length;
+        }
+        return size;
+    }
+
+    public long getReferencedSizeInBytes() {
+        long size = 0;
+        for (Tile tile : tiles.keySet()) {
+            size += (long) tile.data.length * tile.references;
+        }
+        return size;
+    }
+
+    static class Tile {
+
+        private final byte[] data;
+        private final int hash;
+        private int references;
+
+        Tile(byte[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+            this.references = 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Tile tile = (Tile) o;
+            return hash == tile.hash && Arrays.equals(data, tile.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+public enum PerceptualColorSpace {
+
+    OKLAB {
+        @Override
+        protected void fromLinearRGB(double r, double g, double b, double[] out) {
+            double l = Math.cbrt(0.4122214708 * r + 0.5363325363 * g + 0.0514459929 * b);
+            double m = Math.cbrt(0.2119034982 * r + 0.6806995451 * g + 0.1073969566 * b);
+            double s = Math.cbrt(0.0883024619 * r + 0.2817188376 * g + 0.6299787005 * b);
+            out[0] = 0.2104542553 * l + 0.7936177850 * m - 0.0040720468 * s;
+            out[1] = 1.9779984951 * l - 2.4285922050 * m + 0.4505937099 * s;
+            out[2] = 0.0259040371 * l + 0.7827717662 * m - 0.8086757660 * s;
+        }
+    },
+    CIELAB {
+        @Override
+        protected void fromLinearRGB(double r, double g, double b, double[] out) {
+            double x = labFunction((0.4124564 * r + 0.3575761 * g + 0.1804375 * b) / 0.95047);
+            double y = labFunction(0.2126729 * r + 0.7151522 * g + 0.0721750 * b);
+            double z = labFunction((0.0193339 * r + 0.1191920 * g + 0.9503041 * b) / 1.08883);
+            out[0] = 116 * y - 16;
+            out[1] = 500 * (x - y);
+            out[2] = 200 * (y - z);
+        }
+    };
+
+    private static final double[] SRGB_TO_LINEAR = new double[256];
+
+    static {
+        for (int i = 0; i < SRGB_TO_LINEAR.length; i++) {
+            double c = i / 255.0;
+            SRGB_TO_LINEAR[i] = c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4);
+        }
+    }
+
+    private static double labFunction(double t) {
+        return t > 216.0 / 24389.0 ? Math.cbrt(t) : (24389.0 / 27.0 * t + 16) / 116;
+    }
+
+    public void fromRGB(int red, int green, int blue, double[] out) {
+        fromLinearRGB(SRGB_TO_LINEAR[red], SRGB_TO_LINEAR[green], SRGB_TO_LINEAR[blue], out);
+    }
+
+    protected abstract void fromLinearRGB(double r, double g, double b, double[] out);
+
+}
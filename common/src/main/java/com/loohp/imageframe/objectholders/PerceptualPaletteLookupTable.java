@@ -0,0 +1,67 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+public class PerceptualPaletteLookupTable extends PaletteLookupTable {
+
+    private final PerceptualColorSpace colorSpace;
+    private final PaletteKdTree kdTree;
+
+    public PerceptualPaletteLookupTable(int[] colors, PerceptualColorSpace colorSpace) {
+        super(colors);
+        this.colorSpace = colorSpace;
+        double[][] points = new double[matchableIndexes.length][3];
+        for (int k = 0; k < matchableIndexes.length; k++) {
+            int i = matchableIndexes[k];
+            colorSpace.fromRGB(reds[i], greens[i], blues[i], points[k]);
+        }
+        this.kdTree = new PaletteKdTree(points, matchableIndexes);
+    }
+
+    @Override
+    protected String getTableType() {
+        return colorSpace.name().toLowerCase();
+    }
+
+    public PerceptualColorSpace getColorSpace() {
+        return colorSpace;
+    }
+
+    @Override
+    protected int matchIndexDirect(int red, int green, int blue) {
+        double[] target = new double[3];
+        colorSpace.fromRGB(red, green, blue, target);
+        return kdTree.newQuery().nearest(target);
+    }
+
+    @Override
+    protected void buildRedSlice(byte[] table, int red) {
+        PaletteKdTree.Query query = kdTree.newQuery();
+        double[] target = new double[3];
+        for (int green = 0; green < 256; green++) {
+            for (int blue = 0; blue < 256; blue++) {
+                colorSpace.fromRGB(red, green, blue, target);
+                table[(red << 16) | (green << 8) | blue] = (byte) query.nearest(target);
+            }
+        }
+    }
+
+}
@@ -20,21 +20,37 @@
 
 package com.loohp.imageframe.objectholders;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.ref.WeakReference;
+import java.nio.file.NoSuchFileException;
 
 public class StandardLazyMappedBufferedImage implements LazyMappedBufferedImage {
 
-    private static final LazyDataSource.Reader<BufferedImage> IMAGE_READER = in -> ImageIO.read(in);
+    private static final LazyDataSource.Reader<BufferedImage> IMAGE_READER = in -> TileImageFormat.read(in);
 
     protected static LazyDataSource.Reader<BufferedImage> imageReader() {
         return IMAGE_READER;
     }
 
     protected static LazyDataSource.Writer imageWriter(BufferedImage image) {
-        return out -> ImageIO.write(image, "png", out);
+        TileImageFormat format = TileImageFormat.getCurrent();
+        return out -> format.write(image, out);
+    }
+
+    protected static void write(LazyDataSource source, BufferedImage image) throws IOException {
+        source.save(imageWriter(image));
+        String fileName = source.getFileName();
+        TileImageFormat format = TileImageFormat.fromFileName(fileName);
+        if (format == null) {
+            return;
+        }
+        for (TileImageFormat other : TileImageFormat.values()) {
+            if (other != format) {
+                source.withFileName(other.withExtension(fileName)).delete();
+            }
+        }
     }
 
     public static StandardLazyMappedBufferedImage fromSource(LazyDataSource source) {
@@ -46,15 +62,15 @@ public class StandardLazyMappedBufferedImage implements LazyMappedBufferedImage
     }
 
     public static StandardLazyMappedBufferedImage fromImageToFile(LazyDataSource source, BufferedImage image) throws IOException {
-        source.save(imageWriter(image));
-        return new StandardLazyMappedBufferedImage(source, null, new WeakReference<>(image));
+        write(source, image);
+        return new StandardLazyMappedBufferedImage(source, null, image);
     }
 
     private LazyDataSource source;
     private BufferedImage strongReference;
     private WeakReference<BufferedImage> weakReference;
 
-    private StandardLazyMappedBufferedImage(LazyDataSource source, BufferedImage strongReference, WeakReference<BufferedImage> weakReference) {
+    private StandardLazyMappedBufferedImage(LazyDataSource source, BufferedImage strongReference, BufferedImage decodedImage) {
         if (source == null && strongReference == null) {
             throw new IllegalArgumentException("One of source and strongReference must not be null");
         }
@@ -63,7 +79,10 @@ public class StandardLazyMappedBufferedImage implements LazyMappedBufferedImage
         }
         this.source = source;
         this.strongReference = strongReference;
-        this.weakReference = weakReference;
+        if (decodedImage != null) {
+            this.weakReference = new WeakReference<>(decodedImage);
+            DecodedImageCache.getInstance().put(this, decodedImage);
+        }
     }
 
     @Override
@@ -91,19 +110,20 @@ public class StandardLazyMappedBufferedImage implements LazyMappedBufferedImage
             throw new IllegalArgumentException("Cannot set source to null");
         }
         try {
-            source.save(imageWriter(strongReference));
+            write(source, strongReference);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
         this.source = source;
         this.weakReference = new WeakReference<>(strongReference);
+        DecodedImageCache.getInstance().put(this, strongReference);
         this.strongReference = null;
     }
 
     @Override
     public void saveCopy(LazyDataSource source) {
         try {
-            source.save(imageWriter(get()));
+            write(source, get());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -114,25 +134,68 @@ public class StandardLazyMappedBufferedImage implements LazyMappedBufferedImage
         if (strongReference != null) {
             return strongReference;
         }
-        BufferedImage image;
+        DecodedImageCache cache = DecodedImageCache.getInstance();
+        BufferedImage image = cache.get(this);
+        if (image != null) {
+            return image;
+        }
         if (weakReference != null && (image = weakReference.get()) != null) {
+            cache.put(this, image);
             return image;
         }
         try {
-            image = source.load(imageReader());
+            image = load(source);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        this.weakReference = new WeakReference<>(image);
+        if (image != null) {
+            this.weakReference = new WeakReference<>(image);
+            cache.put(this, image);
+        }
         return image;
     }
 
+    private static BufferedImage load(LazyDataSource source) throws IOException {
+        IOException notFound = null;
+        try {
+            BufferedImage image = source.load(imageReader());
+            if (image != null) {
+                return image;
+            }
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            notFound = e;
+        }
+        String fileName = source.getFileName();
+        TileImageFormat format = TileImageFormat.fromFileName(fileName);
+        if (format != null) {
+            for (TileImageFormat other : TileImageFormat.values()) {
+                if (other != format) {
+                    try {
+                        BufferedImage image = source.withFileName(other.withExtension(fileName)).load(imageReader());
+                        if (image != null) {
+                            return image;
+                        }
+                    } catch (NoSuchFileException | FileNotFoundException ignore) {
+                    }
+                }
+            }
+        }
+        if (notFound != null) {
+            throw notFound;
+        }
+        return null;
+    }
+
     @Override
     public synchronized BufferedImage getIfLoaded() {
         if (strongReference != null) {
             return strongReference;
         }
-        return weakReference.get();
+        BufferedImage image = DecodedImageCache.getInstance().peek(this);
+        if (image != null) {
+            return image;
+        }
+        return weakReference == null ? null : weakReference.get();
     }
 
 }
@@ -0,0 +1,98 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import com.loohp.imageframe.ImageFrame;
+import com.loohp.imageframe.utils.QoiUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public enum TileImageFormat {
+
+    PNG(".png") {
+        @Override
+        public void write(BufferedImage image, OutputStream outputStream) throws IOException {
+            ImageIO.write(image, "png", outputStream);
+        }
+    },
+    QOI(".qoi") {
+        @Override
+        public void write(BufferedImage image, OutputStream outputStream) throws IOException {
+            QoiUtils.write(image, outputStream);
+        }
+    };
+
+    public static TileImageFormat getCurrent() {
+        TileImageFormat format = ImageFrame.tileImageFormat;
+        return format == null ? PNG : format;
+    }
+
+    public static TileImageFormat fromFileName(String fileName) {
+        for (TileImageFormat format : values()) {
+            if (fileName.endsWith(format.getExtension())) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    public static BufferedImage read(InputStream inputStream) throws IOException {
+        BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream);
+        byte[] header = new byte[QoiUtils.MAGIC.length];
+        bufferedInputStream.mark(header.length);
+        int length = 0;
+        int read;
+        while (length < header.length && (read = bufferedInputStream.read(header, length, header.length - length)) >= 0) {
+            length += read;
+        }
+        bufferedInputStream.reset();
+        if (length == header.length && QoiUtils.isQoi(header)) {
+            return QoiUtils.read(bufferedInputStream);
+        }
+        return ImageIO.read(bufferedInputStream);
+    }
+
+    private final String extension;
+
+    TileImageFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String withExtension(String fileName) {
+        TileImageFormat format = fromFileName(fileName);
+        if (format != null) {
+            fileName = fileName.substring(0, fileName.length() - format.getExtension().length());
+        }
+        return fileName + extension;
+    }
+
+    public abstract void write(BufferedImage image, OutputStream outputStream) throws IOException;
+
+}
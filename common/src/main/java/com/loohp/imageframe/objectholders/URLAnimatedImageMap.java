@@ -22,40 +22,55 @@ package com.loohp.imageframe.objectholders;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.loohp.imageframe.ImageFrame;
 import com.loohp.imageframe.api.events.ImageMapUpdatedEvent;
+import com.loohp.imageframe.media.MediaFrame;
 import com.loohp.imageframe.media.TimedMediaFrameIterator;
 import com.loohp.imageframe.storage.ImageFrameStorage;
-import com.loohp.imageframe.utils.CollectionUtils;
+import com.loohp.imageframe.utils.DitheringUtils;
 import com.loohp.imageframe.utils.MapUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.map.MapCursor;
 import org.bukkit.map.MapView;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public class URLAnimatedImageMap extends URLImageMap {
 
+    public static final int TICK_MS = 50;
+
     protected final LazyMappedBufferedImage[][] cachedImages;
+    protected int[] frameDurations;
+    protected int[] frameStartTicks;
+    protected int sequenceLength;
 
-    protected byte[][][] cachedColors;
+    protected AnimationFrameStore cachedColors;
+    protected boolean colorCacheUnsaved;
     protected int[][] fakeMapIds;
     protected Set<Integer> fakeMapIdsSet;
+    protected Map<Integer, ItemStack> fakeMapItems;
     protected int pausedAt;
     protected int tickOffset;
 
-    protected URLAnimatedImageMap(ImageMapManager manager, ImageMapLoader<?, ?> loader, int imageIndex, String name, String url, LazyMappedBufferedImage[][] cachedImages, List<MapView> mapViews, List<Integer> mapIds, List<Map<String, MapCursor>> mapMarkers, int width, int height, DitheringType ditheringType, UUID creator, Map<UUID, ImageMapAccessPermissionType> hasAccess, long creationTime, int pausedAt, int tickOffset) {
+    protected URLAnimatedImageMap(ImageMapManager manager, ImageMapLoader<?, ?> loader, int imageIndex, String name, String url, LazyMappedBufferedImage[][] cachedImages, int[] frameDurations, List<MapView> mapViews, List<Integer> mapIds, List<Map<String, MapCursor>> mapMarkers, int width, int height, DitheringType ditheringType, UUID creator, Map<UUID, ImageMapAccessPermissionType> hasAccess, long creationTime, int pausedAt, int tickOffset) {
         super(manager, loader, imageIndex, name, url, mapViews, mapIds, mapMarkers, width, height, ditheringType, creator, hasAccess, creationTime);
         this.cachedImages = cachedImages;
+        setFrameDurations(frameDurations);
         this.pausedAt = pausedAt;
         this.tickOffset = tickOffset;
         this.cacheControlTask.loadCacheIfManual();
@@ -69,9 +84,15 @@ public class URLAnimatedImageMap extends URLImageMap {
         if (cachedImages[0] == null) {
             return;
         }
+        LazyDataSource colorCacheSource = getColorCacheSource();
+        String colorCacheKey = colorCacheSource == null ? null : ImageMapColorCache.computeKey(cachedImages, ditheringType, ImageFrame.temporalAnimationDithering);
+        byte[][][] persistedColors = ImageMapColorCache.load(colorCacheSource, colorCacheKey);
+        if (persistedColors != null && persistedColors.length == cachedImages.length) {
+            setCachedColorsAndFakeMapIds(persistedColors);
+            this.colorCacheUnsaved = false;
+            return;
+        }
         byte[][][] cachedColors = new byte[cachedImages.length][][];
-        int[][] fakeMapIds = new int[cachedColors.length][];
-        Set<Integer> fakeMapIdsSet = new HashSet<>();
         BufferedImage[] combined = new BufferedImage[cachedImages[0].length];
         for (int i = 0; i < combined.length; i++) {
             combined[i] = new BufferedImage(width * MapUtils.MAP_WIDTH, height * MapUtils.MAP_WIDTH, BufferedImage.TYPE_INT_ARGB);
@@ -93,11 +114,14 @@ public class URLAnimatedImageMap extends URLImageMap {
         for (int i = 0; i < combined.length; i++) {
             combinedData[i] = MapUtils.toMapPaletteBytes(combined[i], ditheringType);
         }
+        if (ImageFrame.temporalAnimationDithering) {
+            for (int i = 1; i < combined.length; i++) {
+                DitheringUtils.applyTemporalCoherence(combined[i - 1], combinedData[i - 1], combined[i], combinedData[i]);
+            }
+        }
         int i = 0;
         for (LazyMappedBufferedImage[] images : cachedImages) {
             byte[][] data = new byte[images.length][];
-            int[] mapIds = new int[data.length];
-            Arrays.fill(mapIds, -1);
             byte[] lastDistinctFrame = null;
             for (int u = 0; u < images.length; u++) {
                 byte[] b = new byte[MapUtils.MAP_WIDTH * MapUtils.MAP_WIDTH];
@@ -107,19 +131,65 @@ public class URLAnimatedImageMap extends URLImageMap {
                 }
                 if (u == 0 || !Arrays.equals(b, lastDistinctFrame)) {
                     data[u] = b;
-                    int mapId = ImageMapManager.getNextFakeMapId();
-                    mapIds[u] = mapId;
-                    fakeMapIdsSet.add(mapId);
                     lastDistinctFrame = b;
                 }
             }
             cachedColors[i] = data;
-            fakeMapIds[i] = mapIds;
             i++;
         }
-        this.cachedColors = cachedColors;
+        cachedColors = setCachedColorsAndFakeMapIds(cachedColors);
+        if (colorCacheKey == null) {
+            this.colorCacheUnsaved = true;
+        } else {
+            ImageMapColorCache.save(colorCacheSource, colorCacheKey, cachedColors);
+            this.colorCacheUnsaved = false;
+        }
+    }
+
+    protected byte[][][] setCachedColorsAndFakeMapIds(byte[][][] cachedColors) {
+        int[][] fakeMapIds = new int[cachedColors.length][];
+        Set<Integer> fakeMapIdsSet = new HashSet<>();
+        for (int i = 0; i < cachedColors.length; i++) {
+            byte[][] data = cachedColors[i];
+            if (isStaticTile(data)) {
+                cachedColors[i] = new byte[][] {data[0]};
+                continue;
+            }
+            int[] mapIds = new int[data.length];
+            Arrays.fill(mapIds, -1);
+            Map<PaletteTilePool.Tile, Integer> distinctFrames = new HashMap<>();
+            for (int u = 0; u < data.length; u++) {
+                if (data[u] != null) {
+                    Integer existingIndex = distinctFrames.putIfAbsent(new PaletteTilePool.Tile(data[u]), u);
+                    if (existingIndex == null) {
+                        int mapId = ImageMapManager.getNextFakeMapId();
+                        mapIds[u] = mapId;
+                        fakeMapIdsSet.add(mapId);
+                    } else {
+                        data[u] = data[existingIndex];
+                        mapIds[u] = mapIds[existingIndex];
+                    }
+                }
+            }
+            fakeMapIds[i] = mapIds;
+        }
+        setCachedColors(ImageFrame.animationFrameStoreType.createOrFallback(cachedColors, MapUtils.MAP_WIDTH * MapUtils.MAP_WIDTH));
         this.fakeMapIds = fakeMapIds;
         this.fakeMapIdsSet = fakeMapIdsSet;
+        this.fakeMapItems = new ConcurrentHashMap<>();
+        return cachedColors;
+    }
+
+    private static boolean isStaticTile(byte[][] data) {
+        if (data.length == 0 || data[0] == null) {
+            return false;
+        }
+        for (int u = 1; u < data.length; u++) {
+            if (data[u] != null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -129,6 +199,44 @@ public class URLAnimatedImageMap extends URLImageMap {
         return super.applyUpdate(json);
     }
 
+    protected synchronized void setFrameDurations(int[] frameDurations) {
+        int frameCount = cachedImages.length == 0 || cachedImages[0] == null ? 0 : cachedImages[0].length;
+        if (frameDurations == null || frameDurations.length != frameCount) {
+            frameDurations = new int[frameCount];
+            Arrays.fill(frameDurations, 1);
+        }
+        int[] frameStartTicks = new int[frameDurations.length];
+        int sequenceLength = 0;
+        for (int i = 0; i < frameDurations.length; i++) {
+            frameStartTicks[i] = sequenceLength;
+            sequenceLength += Math.max(1, frameDurations[i]);
+        }
+        this.frameDurations = frameDurations;
+        this.frameStartTicks = frameStartTicks;
+        this.sequenceLength = Math.max(1, sequenceLength);
+    }
+
+    public int[] getFrameDurations() {
+        return frameDurations.clone();
+    }
+
+    public int getFrameCount() {
+        return frameDurations.length;
+    }
+
+    public int getFrameIndex(int currentTick) {
+        int[] frameStartTicks = this.frameStartTicks;
+        if (frameStartTicks.length == 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(frameStartTicks, currentTick % sequenceLength);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int getFrameStartTick(int frameIndex) {
+        return frameStartTicks[frameIndex];
+    }
+
     @Override
     public boolean hasColorCached() {
         return cachedColors != null;
@@ -136,37 +244,77 @@ public class URLAnimatedImageMap extends URLImageMap {
 
     @Override
     public void unloadColorCache() {
-        cachedColors = null;
+        setCachedColors(null);
+        Map<Integer, ItemStack> fakeMapItems = this.fakeMapItems;
+        if (fakeMapItems != null) {
+            fakeMapItems.clear();
+        }
     }
 
     @Override
-    public void update(boolean save) throws Exception {
-        List<BufferedImage> images = CollectionUtils.toList(new TimedMediaFrameIterator(loader.tryLoadMedia(url), 50));
-        for (int i = 0; i < cachedImages.length; i++) {
-            cachedImages[i] = new LazyMappedBufferedImage[images.size()];
+    public long getColorCacheSizeInBytes() {
+        AnimationFrameStore cachedColors = this.cachedColors;
+        return cachedColors == null ? 0 : cachedColors.getSizeInBytes();
+    }
+
+    @Override
+    protected Collection<LazyMappedBufferedImage> getSourceImages() {
+        if (cachedImages == null) {
+            return Collections.emptyList();
         }
-        int index = 0;
-        Map<IntPosition, LazyMappedBufferedImage> previousImages = new HashMap<>();
-        for (BufferedImage image : images) {
-            image = MapUtils.resize(image, width, height);
+        return Arrays.stream(cachedImages).filter(images -> images != null).flatMap(images -> Arrays.stream(images)).collect(Collectors.toList());
+    }
+
+    protected synchronized void setCachedColors(AnimationFrameStore cachedColors) {
+        AnimationFrameStore previousCachedColors = this.cachedColors;
+        this.cachedColors = cachedColors;
+        if (previousCachedColors != null && previousCachedColors != cachedColors) {
+            previousCachedColors.close();
+        }
+    }
+
+    @Override
+    public void update(boolean save) throws Exception {
+        TimedMediaFrameIterator itr = new TimedMediaFrameIterator(loader.tryLoadMedia(url), TICK_MS);
+        List<LazyMappedBufferedImage[]> frames = new ArrayList<>();
+        List<Integer> durations = new ArrayList<>();
+        LazyMappedBufferedImage[] previousFrame = null;
+        while (itr.hasNext()) {
+            MediaFrame mediaFrame = itr.next();
+            int ticks = Math.max(1, mediaFrame.getDurationMs() / TICK_MS);
+            BufferedImage image = MapUtils.resize(mediaFrame.getImage(), width, height);
+            LazyMappedBufferedImage[] frame = new LazyMappedBufferedImage[cachedImages.length];
+            boolean changed = previousFrame == null;
             int i = 0;
             for (int y = 0; y < height; y++) {
                 for (int x = 0; x < width; x++) {
-                    IntPosition intPosition = new IntPosition(x, y);
                     BufferedImage subImage = MapUtils.getSubImage(image, x, y);
-                    LazyMappedBufferedImage previousFile = previousImages.get(intPosition);
-                    LazyMappedBufferedImage file;
+                    LazyMappedBufferedImage previousFile = previousFrame == null ? null : previousFrame[i];
                     if (previousFile == null || !MapUtils.areImagesEqual(subImage, previousFile.getIfLoaded())) {
-                        file = StandardLazyMappedBufferedImage.fromImage(subImage);
+                        frame[i] = StandardLazyMappedBufferedImage.fromImage(subImage);
+                        changed = true;
                     } else {
-                        file = previousFile;
+                        frame[i] = previousFile;
                     }
-                    cachedImages[i++][index] = file;
-                    previousImages.put(intPosition, file);
+                    i++;
                 }
             }
-            index++;
+            if (changed) {
+                frames.add(frame);
+                durations.add(ticks);
+                previousFrame = frame;
+            } else {
+                durations.set(durations.size() - 1, durations.get(durations.size() - 1) + ticks);
+            }
+        }
+        for (int i = 0; i < cachedImages.length; i++) {
+            LazyMappedBufferedImage[] images = new LazyMappedBufferedImage[frames.size()];
+            for (int u = 0; u < images.length; u++) {
+                images[u] = frames.get(u)[i];
+            }
+            cachedImages[i] = images;
         }
+        setFrameDurations(durations.stream().mapToInt(d -> d).toArray());
         reloadColorCache();
         Bukkit.getPluginManager().callEvent(new ImageMapUpdatedEvent(this));
         if (save) {
@@ -236,14 +384,28 @@ public class URLAnimatedImageMap extends URLImageMap {
 
     @Override
     public byte[] getRawAnimationColors(int currentTick, int index) {
+        AnimationFrameStore cachedColors = this.cachedColors;
         if (cachedColors == null) {
             return null;
         }
-        byte[][] colors = cachedColors[index];
-        if (colors == null) {
+        int frameCount = cachedColors.getFrameCount(index);
+        if (frameCount == 1) {
+            return cachedColors.getFrame(index, 0);
+        }
+        int frameIndex = getFrameIndex(currentTick);
+        if (frameIndex >= frameCount) {
             return null;
         }
-        return colors[currentTick % colors.length];
+        return cachedColors.getFrame(index, frameIndex);
+    }
+
+    @Override
+    public boolean isTileAnimated(int index) {
+        int[][] fakeMapIds = this.fakeMapIds;
+        if (fakeMapIds == null || index < 0 || index >= fakeMapIds.length) {
+            return true;
+        }
+        return fakeMapIds[index] != null;
     }
 
     @Override
@@ -255,7 +417,10 @@ public class URLAnimatedImageMap extends URLImageMap {
         if (mapIds == null) {
             return -1;
         }
-        int mapIdIndex = currentTick % mapIds.length;
+        int mapIdIndex = getFrameIndex(currentTick);
+        if (mapIdIndex >= mapIds.length) {
+            return -1;
+        }
         int mapId = mapIds[mapIdIndex];
         if (mapId >= 0 || !lookbehind) {
             return mapId;
@@ -269,16 +434,26 @@ public class URLAnimatedImageMap extends URLImageMap {
         return mapId;
     }
 
+    @Override
+    public ItemStack getAnimationFakeMapItem(int mapId) {
+        Map<Integer, ItemStack> fakeMapItems = this.fakeMapItems;
+        if (fakeMapItems == null || !fakeMapIdsSet.contains(mapId)) {
+            return MapUtils.getFakeMapItem(mapId);
+        }
+        return fakeMapItems.computeIfAbsent(mapId, k -> MapUtils.getFakeMapItem(k));
+    }
+
     @Override
     public void sendAnimationFakeMaps(Collection<? extends Player> players, MapPacketSentCallback completionCallback) {
-        int length = getSequenceLength();
-        for (int currentTick = 0; currentTick < length; currentTick++) {
+        int[] frameStartTicks = this.frameStartTicks;
+        Set<Integer> sentMapIds = new HashSet<>();
+        for (int frameIndex = 0; frameIndex < frameStartTicks.length; frameIndex++) {
             for (int index = 0; index < fakeMapIds.length; index++) {
                 int[] mapIds = fakeMapIds[index];
-                if (mapIds != null && currentTick < mapIds.length) {
-                    int mapId = mapIds[currentTick];
-                    if (mapId >= 0) {
-                        MapUtils.sendImageMap(mapId, mapViews.get(index), currentTick, players, completionCallback);
+                if (mapIds != null && frameIndex < mapIds.length) {
+                    int mapId = mapIds[frameIndex];
+                    if (mapId >= 0 && sentMapIds.add(mapId)) {
+                        MapUtils.sendImageMap(mapId, mapViews.get(index), frameStartTicks[frameIndex], players, completionCallback);
                     }
                 }
             }
@@ -310,7 +485,7 @@ public class URLAnimatedImageMap extends URLImageMap {
 
     @Override
     public int getSequenceLength() {
-        return cachedImages[0].length;
+        return sequenceLength;
     }
 
     @Override
@@ -346,6 +521,11 @@ public class URLAnimatedImageMap extends URLImageMap {
         json.addProperty("creator", creator.toString());
         json.addProperty("pausedAt", pausedAt);
         json.addProperty("tickOffset", tickOffset);
+        JsonArray frameDurationsArray = new JsonArray();
+        for (int frameDuration : frameDurations) {
+            frameDurationsArray.add(frameDuration);
+        }
+        json.add("frameDurations", frameDurationsArray);
         JsonObject accessJson = new JsonObject();
         for (Map.Entry<UUID, ImageMapAccessPermissionType> entry : accessControl.getPermissions().entrySet()) {
             accessJson.addProperty(entry.getKey().toString(), entry.getValue().name());
@@ -358,21 +538,26 @@ public class URLAnimatedImageMap extends URLImageMap {
             JsonObject dataJson = new JsonObject();
             dataJson.addProperty("mapid", mapIds.get(i));
             JsonArray framesArray = new JsonArray();
-            for (LazyMappedBufferedImage image : cachedImages[i]) {
+            LazyMappedBufferedImage[] images = cachedImages[i];
+            for (int f = 0; f < images.length; f++) {
+                LazyMappedBufferedImage image = images[f];
                 int index = u++;
-                LazyDataSource source = storage.getSource(imageIndex, index + ".png");
+                LazyDataSource source = storage.getSource(imageIndex, index + TileImageFormat.getCurrent().getExtension());
+                String fileName;
                 if (image.canSetSource(source)) {
                     if (saveAsCopy) {
                         image.saveCopy(source);
                     } else {
                         image.setSource(source);
                     }
-                    framesArray.add(index + ".png");
+                    fileName = source.getFileName();
                 } else {
-                    String fileName = image.getSource().getFileName();
+                    fileName = image.getSource().getFileName();
                     if (saveAsCopy) {
                         image.saveCopy(source.withFileName(fileName));
                     }
+                }
+                for (int tick = Math.max(1, frameDurations[f]); tick > 0; tick--) {
                     framesArray.add(fileName);
                 }
             }
@@ -394,6 +579,14 @@ public class URLAnimatedImageMap extends URLImageMap {
             mapDataJson.add(dataJson);
         }
         json.add("mapdata", mapDataJson);
+        AnimationFrameStore cachedColors = this.cachedColors;
+        if (!saveAsCopy && colorCacheUnsaved && cachedColors != null) {
+            String colorCacheKey = ImageMapColorCache.computeKey(cachedImages, ditheringType, ImageFrame.temporalAnimationDithering);
+            if (colorCacheKey != null) {
+                ImageMapColorCache.save(storage.getSource(imageIndex, ImageMapColorCache.FILE_NAME), colorCacheKey, cachedColors.toArray());
+                colorCacheUnsaved = false;
+            }
+        }
         storage.saveImageMapData(imageIndex, json);
     }
 
@@ -417,6 +610,15 @@ public class URLAnimatedImageMap extends URLImageMap {
         public MutablePair<byte[], Collection<MapCursor>> renderMap(MapView mapView, Player player) {
             return renderMap(mapView, parent.getCurrentPositionInSequenceWithOffset(), player);
         }
+
+        @Override
+        protected byte[] toPacketColors(byte[] colors) {
+            AnimationFrameStore cachedColors = parent.cachedColors;
+            if (colors != null && cachedColors != null && cachedColors.reusesFrameArrays()) {
+                return colors.clone();
+            }
+            return colors;
+        }
     }
 
 }
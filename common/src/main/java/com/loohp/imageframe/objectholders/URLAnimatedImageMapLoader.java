@@ -34,6 +34,7 @@ import org.bukkit.map.MapRenderer;
 import org.bukkit.map.MapView;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -104,7 +105,7 @@ public class URLAnimatedImageMapLoader extends ImageMapLoader<URLAnimatedImageMa
             mapViews.add(mapView);
             mapIds.add(mapView.getId());
         }
-        URLAnimatedImageMap map = new URLAnimatedImageMap(createInfo.getManager(), this, -1, createInfo.getName(), createInfo.getUrl(), new LazyMappedBufferedImage[mapsCount][], mapViews, mapIds, markers, createInfo.getWidth(), createInfo.getHeight(), createInfo.getDitheringType(), createInfo.getCreator(), Collections.emptyMap(), System.currentTimeMillis(), -1, 0);
+        URLAnimatedImageMap map = new URLAnimatedImageMap(createInfo.getManager(), this, -1, createInfo.getName(), createInfo.getUrl(), new LazyMappedBufferedImage[mapsCount][], null, mapViews, mapIds, markers, createInfo.getWidth(), createInfo.getHeight(), createInfo.getDitheringType(), createInfo.getCreator(), Collections.emptyMap(), System.currentTimeMillis(), -1, 0);
         return FutureUtils.callAsyncMethod(() -> {
             FutureUtils.callSyncMethod(() -> {
                 for (int i = 0; i < mapViews.size(); i++) {
@@ -138,7 +139,7 @@ public class URLAnimatedImageMapLoader extends ImageMapLoader<URLAnimatedImageMa
         }
         JsonArray mapDataJson = json.get("mapdata").getAsJsonArray();
         List<Future<MapView>> mapViewsFuture = new ArrayList<>(mapDataJson.size());
-        LazyMappedBufferedImage[][] cachedImages = new LazyMappedBufferedImage[mapDataJson.size()][];
+        String[][] fileNames = new String[mapDataJson.size()][];
         List<Map<String, MapCursor>> markers = new ArrayList<>(mapDataJson.size());
         World world = MapUtils.getMainWorld();
         int i = 0;
@@ -151,10 +152,10 @@ public class URLAnimatedImageMapLoader extends ImageMapLoader<URLAnimatedImageMa
                 mapViewsFuture.add(MapUtils.createMap(world));
             }
             JsonArray framesArray = jsonObject.get("images").getAsJsonArray();
-            LazyMappedBufferedImage[] images = new LazyMappedBufferedImage[framesArray.size()];
+            String[] frameFileNames = new String[framesArray.size()];
             int u = 0;
             for (JsonElement element : framesArray) {
-                images[u++] = StandardLazyMappedBufferedImage.fromSource(manager.getStorage().getSource(imageIndex, element.getAsString()));
+                frameFileNames[u++] = element.getAsString();
             }
             Map<String, MapCursor> mapCursors = new ConcurrentHashMap<>();
             if (jsonObject.has("markers")) {
@@ -172,7 +173,27 @@ public class URLAnimatedImageMapLoader extends ImageMapLoader<URLAnimatedImageMa
                 }
             }
             markers.add(mapCursors);
-            cachedImages[i++] = images;
+            fileNames[i++] = frameFileNames;
+        }
+        int[] frameDurations = null;
+        if (json.has("frameDurations")) {
+            JsonArray frameDurationsArray = json.get("frameDurations").getAsJsonArray();
+            frameDurations = new int[frameDurationsArray.size()];
+            int u = 0;
+            for (JsonElement element : frameDurationsArray) {
+                frameDurations[u++] = element.getAsInt();
+            }
+            if (!selectFrameStarts(fileNames, frameDurations)) {
+                frameDurations = null;
+            }
+        }
+        if (frameDurations == null) {
+            frameDurations = collapseRepeatedFrames(fileNames);
+        }
+        LazyMappedBufferedImage[][] cachedImages = new LazyMappedBufferedImage[fileNames.length][];
+        for (int u = 0; u < fileNames.length; u++) {
+            Map<String, LazyMappedBufferedImage> images = new HashMap<>();
+            cachedImages[u] = Arrays.stream(fileNames[u]).map(fileName -> images.computeIfAbsent(fileName, k -> StandardLazyMappedBufferedImage.fromSource(manager.getStorage().getSource(imageIndex, k)))).toArray(LazyMappedBufferedImage[]::new);
         }
         List<Integer> mapIds = new ArrayList<>(mapDataJson.size());
         List<MapView> mapViews = new ArrayList<>(mapViewsFuture.size());
@@ -183,7 +204,7 @@ public class URLAnimatedImageMapLoader extends ImageMapLoader<URLAnimatedImageMa
         }
         int pausedAt = json.has("pausedAt") ? json.get("pausedAt").getAsInt() : -1;
         int tickOffset = json.has("tickOffset") ? json.get("tickOffset").getAsInt() : 0;
-        URLAnimatedImageMap map = new URLAnimatedImageMap(manager, this, imageIndex, name, url, cachedImages, mapViews, mapIds, markers, width, height, ditheringType, creator, hasAccess, creationTime, pausedAt, tickOffset);
+        URLAnimatedImageMap map = new URLAnimatedImageMap(manager, this, imageIndex, name, url, cachedImages, frameDurations, mapViews, mapIds, markers, width, height, ditheringType, creator, hasAccess, creationTime, pausedAt, tickOffset);
         return FutureUtils.callSyncMethod(() -> {
             for (int u = 0; u < mapViews.size(); u++) {
                 MapView mapView = mapViews.get(u);
@@ -196,4 +217,60 @@ public class URLAnimatedImageMapLoader extends ImageMapLoader<URLAnimatedImageMa
         });
     }
 
+    private static boolean selectFrameStarts(String[][] fileNames, int[] frameDurations) {
+        int sequenceLength = 0;
+        for (int frameDuration : frameDurations) {
+            sequenceLength += Math.max(1, frameDuration);
+        }
+        for (String[] frameFileNames : fileNames) {
+            if (frameFileNames.length != sequenceLength) {
+                return false;
+            }
+        }
+        for (int i = 0; i < fileNames.length; i++) {
+            String[] selected = new String[frameDurations.length];
+            int tick = 0;
+            for (int u = 0; u < selected.length; u++) {
+                selected[u] = fileNames[i][tick];
+                tick += Math.max(1, frameDurations[u]);
+            }
+            fileNames[i] = selected;
+        }
+        return true;
+    }
+
+    private static int[] collapseRepeatedFrames(String[][] fileNames) {
+        if (fileNames.length == 0) {
+            return new int[0];
+        }
+        int length = fileNames[0].length;
+        for (String[] frameFileNames : fileNames) {
+            if (frameFileNames.length != length) {
+                return null;
+            }
+        }
+        List<Integer> frameIndexes = new ArrayList<>(length);
+        List<Integer> frameDurations = new ArrayList<>(length);
+        for (int u = 0; u < length; u++) {
+            boolean repeated = u > 0;
+            for (int i = 0; repeated && i < fileNames.length; i++) {
+                repeated = fileNames[i][u].equals(fileNames[i][u - 1]);
+            }
+            if (repeated) {
+                frameDurations.set(frameDurations.size() - 1, frameDurations.get(frameDurations.size() - 1) + 1);
+            } else {
+                frameIndexes.add(u);
+                frameDurations.add(1);
+            }
+        }
+        for (int i = 0; i < fileNames.length; i++) {
+            String[] collapsed = new String[frameIndexes.size()];
+            for (int u = 0; u < collapsed.length; u++) {
+                collapsed[u] = fileNames[i][frameIndexes.get(u)];
+            }
+            fileNames[i] = collapsed;
+        }
+        return frameDurations.stream().mapToInt(d -> d).toArray();
+    }
+
 }
@@ -32,7 +32,9 @@ import org.bukkit.map.MapView;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -44,6 +46,7 @@ public class URLStaticImageMap extends URLImageMap {
     protected final LazyMappedBufferedImage[] cachedImages;
 
     protected byte[][] cachedColors;
+    protected boolean colorCacheUnsaved;
 
     protected URLStaticImageMap(ImageMapManager manager, ImageMapLoader<?, ?> loader, int imageIndex, String name, String url, LazyMappedBufferedImage[] cachedImages, List<MapView> mapViews, List<Integer> mapIds, List<Map<String, MapCursor>> mapMarkers, int width, int height, DitheringType ditheringType, UUID creator, Map<UUID, ImageMapAccessPermissionType> hasAccess, long creationTime) {
         super(manager, loader, imageIndex, name, url, mapViews, mapIds, mapMarkers, width, height, ditheringType, creator, hasAccess, creationTime);
@@ -68,6 +71,14 @@ public class URLStaticImageMap extends URLImageMap {
         if (cachedImages[0] == null) {
             return;
         }
+        LazyDataSource colorCacheSource = getColorCacheSource();
+        String colorCacheKey = colorCacheSource == null ? null : ImageMapColorCache.computeKey(cachedImages, ditheringType);
+        byte[][] persistedColors = ImageMapColorCache.loadSingleFrame(colorCacheSource, colorCacheKey);
+        if (persistedColors != null && persistedColors.length == cachedImages.length) {
+            setCachedColors(persistedColors);
+            this.colorCacheUnsaved = false;
+            return;
+        }
         byte[][] cachedColors = new byte[cachedImages.length][];
         BufferedImage combined = new BufferedImage(width * MapUtils.MAP_WIDTH, height * MapUtils.MAP_WIDTH, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g = combined.createGraphics();
@@ -86,7 +97,13 @@ public class URLStaticImageMap extends URLImageMap {
             }
             cachedColors[i] = data;
         }
-        this.cachedColors = cachedColors;
+        setCachedColors(cachedColors);
+        if (colorCacheKey == null) {
+            this.colorCacheUnsaved = true;
+        } else {
+            ImageMapColorCache.saveSingleFrame(colorCacheSource, colorCacheKey, cachedColors);
+            this.colorCacheUnsaved = false;
+        }
     }
 
     @Override
@@ -96,7 +113,39 @@ public class URLStaticImageMap extends URLImageMap {
 
     @Override
     public void unloadColorCache() {
-        cachedColors = null;
+        setCachedColors(null);
+    }
+
+    @Override
+    public long getColorCacheSizeInBytes() {
+        byte[][] cachedColors = this.cachedColors;
+        if (cachedColors == null) {
+            return 0;
+        }
+        long size = 0;
+        for (byte[] data : cachedColors) {
+            if (data != null) {
+                size += data.length;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    protected Collection<LazyMappedBufferedImage> getSourceImages() {
+        if (cachedImages == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(cachedImages);
+    }
+
+    protected synchronized void setCachedColors(byte[][] cachedColors) {
+        PaletteTilePool pool = PaletteTilePool.getInstance();
+        byte[][] previousCachedColors = this.cachedColors;
+        this.cachedColors = cachedColors == null ? null : pool.acquireAll(cachedColors);
+        if (previousCachedColors != null) {
+            pool.releaseAll(previousCachedColors);
+        }
     }
 
     @Override
@@ -155,11 +204,24 @@ public class URLStaticImageMap extends URLImageMap {
         }
         json.add("hasAccess", accessJson);
         json.addProperty("creationTime", creationTime);
+        String[] imageFileNames = new String[cachedImages.length];
+        for (int i = 0; i < cachedImages.length; i++) {
+            LazyMappedBufferedImage cachedImage = cachedImages[i];
+            LazyDataSource source = storage.getSource(imageIndex, i + TileImageFormat.getCurrent().getExtension());
+            if (saveAsCopy) {
+                cachedImage.saveCopy(source);
+            } else if (cachedImage.canSetSource(source)) {
+                cachedImage.setSource(source);
+            } else {
+                source = cachedImage.getSource();
+            }
+            imageFileNames[i] = source.getFileName();
+        }
         JsonArray mapDataJson = new JsonArray();
         for (int i = 0; i < mapViews.size(); i++) {
             JsonObject dataJson = new JsonObject();
             dataJson.addProperty("mapid", mapIds.get(i));
-            dataJson.addProperty("image", i + ".png");
+            dataJson.addProperty("image", imageFileNames[i]);
             JsonArray markerArray = new JsonArray();
             for (Map.Entry<String, MapCursor> entry : mapMarkers.get(i).entrySet()) {
                 MapCursor marker = entry.getValue();
@@ -177,13 +239,12 @@ public class URLStaticImageMap extends URLImageMap {
             mapDataJson.add(dataJson);
         }
         json.add("mapdata", mapDataJson);
-        for (int i = 0; i < cachedImages.length; i++) {
-            LazyMappedBufferedImage cachedImage = cachedImages[i];
-            LazyDataSource source = storage.getSource(imageIndex, i + ".png");
-            if (saveAsCopy) {
-                cachedImage.saveCopy(source);
-            } else if (cachedImage.canSetSource(source)) {
-                cachedImage.setSource(source);
+        byte[][] cachedColors = this.cachedColors;
+        if (!saveAsCopy && colorCacheUnsaved && cachedColors != null) {
+            String colorCacheKey = ImageMapColorCache.computeKey(cachedImages, ditheringType);
+            if (colorCacheKey != null) {
+                ImageMapColorCache.saveSingleFrame(storage.getSource(imageIndex, ImageMapColorCache.FILE_NAME), colorCacheKey, cachedColors);
+                colorCacheUnsaved = false;
             }
         }
         storage.saveImageMapData(imageIndex, json);
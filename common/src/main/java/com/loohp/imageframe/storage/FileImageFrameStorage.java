@@ -30,6 +30,7 @@ import com.loohp.imageframe.objectholders.ImageMapLoaders;
 import com.loohp.imageframe.objectholders.ImageMapManager;
 import com.loohp.imageframe.objectholders.LazyDataSource;
 import com.loohp.imageframe.objectholders.MutablePair;
+import com.loohp.imageframe.objectholders.TileImageFormat;
 import com.loohp.imageframe.utils.FileUtils;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
@@ -65,12 +66,18 @@ public class FileImageFrameStorage implements ImageFrameStorage {
 
     private final File imageMapFolder;
     private final File playerDataFolder;
+    private final FileTileBlobPool tileBlobPool;
     private final AtomicInteger mapIndexCounter;
     private final UUID instanceId;
 
     public FileImageFrameStorage(File imageMapFolder, File playerDataFolder) {
+        this(imageMapFolder, playerDataFolder, null);
+    }
+
+    public FileImageFrameStorage(File imageMapFolder, File playerDataFolder, File tileBlobFolder) {
         this.imageMapFolder = imageMapFolder;
         this.playerDataFolder = playerDataFolder;
+        this.tileBlobPool = tileBlobFolder == null ? null : new FileTileBlobPool(tileBlobFolder);
         this.mapIndexCounter = new AtomicInteger(0);
 
         this.imageMapFolder.mkdirs();
@@ -99,6 +106,10 @@ public class FileImageFrameStorage implements ImageFrameStorage {
         return imageMapFolder;
     }
 
+    public FileTileBlobPool getTileBlobPool() {
+        return tileBlobPool;
+    }
+
     public File getPlayerDataFolder() {
         return playerDataFolder;
     }
@@ -145,6 +156,21 @@ public class FileImageFrameStorage implements ImageFrameStorage {
         return new File(folder, "data.json").exists();
     }
 
+    @Override
+    public long getImageMapDataSize(int imageIndex) {
+        File[] files = new File(imageMapFolder, String.valueOf(imageIndex)).listFiles();
+        if (files == null) {
+            return 0;
+        }
+        long size = 0;
+        for (File file : files) {
+            if (file.isFile()) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
     @Override
     public JsonObject loadImageMapData(int imageIndex) throws IOException {
         File folder = new File(imageMapFolder, String.valueOf(imageIndex));
@@ -168,13 +194,20 @@ public class FileImageFrameStorage implements ImageFrameStorage {
         imageMapFolder.mkdirs();
         File folder = new File(imageMapFolder, String.valueOf(imageIndex));
         if (folder.exists() && folder.isDirectory()) {
-            FileUtils.removeFolderRecursively(folder);
+            if (tileBlobPool == null) {
+                FileUtils.removeFolderRecursively(folder);
+            } else {
+                tileBlobPool.deleteFolder(folder);
+            }
         }
     }
 
     @Override
     public List<MutablePair<String, Future<? extends ImageMap>>> loadMaps(ImageMapManager manager, Set<Integer> deletedMapIds, IFPlayerManager ifPlayerManager) {
         imageMapFolder.mkdirs();
+        if (tileBlobPool != null) {
+            tileBlobPool.collectGarbage();
+        }
         File[] files = imageMapFolder.listFiles();
         Arrays.sort(files, FileUtils.BY_NUMBER_THEN_STRING);
         List<MutablePair<String, Future<? extends ImageMap>>> futures = new LinkedList<>();
@@ -334,7 +367,17 @@ public class FileImageFrameStorage implements ImageFrameStorage {
             try (OutputStream outputStream = Files.newOutputStream(tempFile.toPath())) {
                 writer.write(outputStream);
             }
-            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            if (storage.tileBlobPool != null && TileImageFormat.fromFileName(fileName) != null) {
+                storage.tileBlobPool.moveIntoPool(tempFile.toPath(), file.toPath());
+            } else {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        @Override
+        public void delete() throws IOException {
+            File folder = new File(storage.imageMapFolder, String.valueOf(imageIndex));
+            Files.deleteIfExists(new File(folder, fileName).toPath());
         }
 
         public int getImageIndex() {
@@ -48,6 +48,6 @@ public class FileImageFrameStorageLoader implements ImageFrameStorageLoader<File
 
     @Override
     public FileImageFrameStorage create(File dataFolder, Map<String, String> options) {
-        return new FileImageFrameStorage(new File(dataFolder, "data"), new File(dataFolder, "players"));
+        return new FileImageFrameStorage(new File(dataFolder, "data"), new File(dataFolder, "players"), new File(dataFolder, "blobs"));
     }
 }
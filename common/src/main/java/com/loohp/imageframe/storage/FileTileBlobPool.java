@@ -0,0 +1,178 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.storage;
+
+import com.loohp.imageframe.objectholders.TileImageFormat;
+import com.loohp.imageframe.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FileTileBlobPool {
+
+    private final File folder;
+    private final boolean supported;
+
+    public FileTileBlobPool(File folder) {
+        this.folder = folder;
+        this.folder.mkdirs();
+        this.supported = checkSupported();
+    }
+
+    private boolean checkSupported() {
+        Path original = new File(folder, ".link-test").toPath();
+        Path link = new File(folder, ".link-test-2").toPath();
+        try {
+            Files.deleteIfExists(link);
+            Files.deleteIfExists(original);
+            Files.createFile(original);
+            Files.createLink(link, original);
+            return ((Number) Files.getAttribute(original, "unix:nlink")).intValue() == 2;
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            return false;
+        } finally {
+            try {
+                Files.deleteIfExists(link);
+                Files.deleteIfExists(original);
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    public boolean isSupported() {
+        return supported;
+    }
+
+    public synchronized void moveIntoPool(Path tempFile, Path target) throws IOException {
+        if (!supported) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        Path blob = getBlobPath(hash(tempFile), target.getFileName().toString());
+        Path tempLink = tempFile.resolveSibling(tempFile.getFileName() + ".link");
+        try {
+            Files.deleteIfExists(tempLink);
+            Files.createLink(tempLink, blob);
+            Files.move(tempLink, target, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(tempFile);
+            return;
+        } catch (NoSuchFileException ignore) {
+        }
+        try {
+            Files.createLink(blob, tempFile);
+        } catch (FileAlreadyExistsException ignore) {
+        }
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public synchronized void deleteFolder(File directory) {
+        List<Path> blobs = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (supported && files != null) {
+            for (File file : files) {
+                if (TileImageFormat.fromFileName(file.getName()) != null) {
+                    try {
+                        blobs.add(getBlobPath(hash(file.toPath()), file.getName()));
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+        FileUtils.removeFolderRecursively(directory);
+        for (Path blob : blobs) {
+            try {
+                if (Files.exists(blob) && getLinkCount(blob) <= 1) {
+                    Files.delete(blob);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public synchronized int collectGarbage() {
+        if (!supported) {
+            return 0;
+        }
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (File file : files) {
+            if (TileImageFormat.fromFileName(file.getName()) == null) {
+                continue;
+            }
+            try {
+                if (getLinkCount(file.toPath()) <= 1) {
+                    Files.delete(file.toPath());
+                    removed++;
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return removed;
+    }
+
+    private int getLinkCount(Path path) throws IOException {
+        return ((Number) Files.getAttribute(path, "unix:nlink")).intValue();
+    }
+
+    private Path getBlobPath(String hash, String fileName) {
+        TileImageFormat format = TileImageFormat.fromFileName(fileName);
+        return new File(folder, hash + (format == null ? TileImageFormat.PNG : format).getExtension()).toPath();
+    }
+
+    private String hash(Path path) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+}
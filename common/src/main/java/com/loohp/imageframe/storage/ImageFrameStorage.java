@@ -46,6 +46,8 @@ public interface ImageFrameStorage extends AutoCloseable {
 
     boolean hasImageMapData(int imageIndex);
 
+    long getImageMapDataSize(int imageIndex);
+
     JsonObject loadImageMapData(int imageIndex) throws IOException;
 
     void prepareImageIndex(ImageMap map, IntConsumer imageIndexSetter) throws Exception;
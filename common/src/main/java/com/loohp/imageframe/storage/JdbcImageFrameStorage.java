@@ -257,6 +257,23 @@ public class JdbcImageFrameStorage implements ImageFrameStorage {
         }
     }
 
+    @Override
+    public long getImageMapDataSize(int imageIndex) {
+        String sql = "SELECT (SELECT COALESCE(SUM(LENGTH(IMAGE)), 0) FROM IMAGE_MAP_IMAGES WHERE IMAGE_INDEX = ?) + (SELECT COALESCE(SUM(LENGTH(DATA)), 0) FROM IMAGE_MAPS WHERE IMAGE_INDEX = ?)";
+        try (
+            Connection connection = dataSource.getConnection();
+            PreparedStatement ps = connection.prepareStatement(sql);
+        ) {
+            ps.setInt(1, imageIndex);
+            ps.setInt(2, imageIndex);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to get ImageMap data size for image index " + imageIndex, e);
+        }
+    }
+
     @Override
     public void prepareImageIndex(ImageMap map, IntConsumer imageIndexSetter) {
         int originalImageIndex = map.getImageIndex();
@@ -789,6 +806,21 @@ public class JdbcImageFrameStorage implements ImageFrameStorage {
             }
         }
 
+        @Override
+        public void delete() throws IOException {
+            String sql = "DELETE FROM IMAGE_MAP_IMAGES WHERE IMAGE_INDEX = ? AND FILE_NAME = ?";
+            try (
+                Connection connection = storage.getDataSource().getConnection();
+                PreparedStatement ps = connection.prepareStatement(sql);
+            ) {
+                ps.setInt(1, imageIndex);
+                ps.setString(2, fileName);
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new IOException("Unable to delete image data for imageIndex=" + imageIndex + ", fileName=" + fileName, e);
+            }
+        }
+
         public int getImageIndex() {
             return imageIndex;
         }
@@ -20,10 +20,19 @@
 
 package com.loohp.imageframe.utils;
 
-import org.bukkit.map.MapPalette;
+import com.loohp.imageframe.objectholders.DitheringType;
+import com.loohp.imageframe.objectholders.IntArgbPixels;
+import com.loohp.imageframe.objectholders.PaletteLookupTable;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 public class DitheringUtils {
 
@@ -69,71 +78,68 @@ public class DitheringUtils {
 
     private static final double BAYER_STRENGTH = 64.0;
 
-    private static class Diffusion {
+    private static final int PARALLEL_BAND_HEIGHT = 32;
+    private static final int PARALLEL_ERROR_DIFFUSION_MIN_WIDTH = 1024;
+    private static final int WAVEFRONT_CHUNK_WIDTH = 64;
 
-        private final int x;
-        private final int y;
-        private final double weight;
+    private static int parallelism = 0;
+    private static ForkJoinPool forkJoinPool = null;
+    private static boolean forkJoinPoolCreated = false;
 
-        public Diffusion(int x, int y, double weight) {
-            this.x = x;
-            this.y = y;
-            this.weight = weight;
-        }
+    public static synchronized void setParallelism(int parallelism) {
+        shutdown();
+        DitheringUtils.parallelism = parallelism;
     }
 
-    private static class RGB {
-
-        private final double r;
-        private final double g;
-        private final double b;
-        private final boolean transparent;
-
-        public RGB(Color color) {
-            this(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha() < 128);
-        }
-
-        public RGB(double r, double g, double b, boolean transparent) {
-            this.r = r;
-            this.g = g;
-            this.b = b;
-            this.transparent = transparent;
-        }
-
-        public RGB add(RGB o) {
-            return new RGB(r + o.r, g + o.g, b + o.b, transparent);
-        }
-
-        public RGB add(double value) {
-            return new RGB(r + value, g + value, b + value, transparent);
+    public static synchronized int getParallelism() {
+        if (forkJoinPoolCreated) {
+            return forkJoinPool == null ? 1 : forkJoinPool.getParallelism();
         }
+        int resolved = parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        return Math.max(1, resolved);
+    }
 
-        public RGB clamp() {
-            return new RGB(clampColor(r), clampColor(g), clampColor(b), transparent);
+    public static synchronized void shutdown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
         }
+        forkJoinPool = null;
+        forkJoinPoolCreated = false;
+    }
 
-        public RGB mul(double d) {
-            return new RGB(d * r, d * g, d * b, transparent);
+    private static synchronized ForkJoinPool getForkJoinPool() {
+        if (!forkJoinPoolCreated) {
+            forkJoinPool = createForkJoinPool(parallelism);
+            forkJoinPoolCreated = true;
         }
+        return forkJoinPool;
+    }
 
-        public RGB sub(RGB o) {
-            return new RGB(r - o.r, g - o.g, b - o.b, transparent);
+    private static ForkJoinPool createForkJoinPool(int parallelism) {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
         }
-
-        public int getRed() {
-            return toColorInt(r);
+        if (parallelism <= 1) {
+            return null;
         }
+        AtomicInteger threadCounter = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ImageFrame Dithering Thread #" + threadCounter.getAndIncrement());
+            return thread;
+        }, null, false);
+    }
 
-        public int getGreen() {
-            return toColorInt(g);
-        }
+    private static class Diffusion {
 
-        public int getBlue() {
-            return toColorInt(b);
-        }
+        private final int x;
+        private final int y;
+        private final double weight;
 
-        public boolean isTransparent() {
-            return transparent;
+        public Diffusion(int x, int y, double weight) {
+            this.x = x;
+            this.y = y;
+            this.weight = weight;
         }
     }
 
@@ -145,94 +151,298 @@ public class DitheringUtils {
         return (int) Math.round(clampColor(c));
     }
 
-    @SuppressWarnings("removal")
-    private static byte toMapColor(RGB color) {
-        return MapPalette.matchColor(color.getRed(), color.getGreen(), color.getBlue());
+    public static byte[] floydSteinbergDithering(BufferedImage img) {
+        return floydSteinbergDithering(img, DitheringType.getPaletteLookupTable());
     }
 
-    @SuppressWarnings("removal")
-    private static RGB toRGB(byte color) {
-        return new RGB(MapPalette.getColor(color));
+    public static byte[] floydSteinbergDithering(BufferedImage img, PaletteLookupTable palette) {
+        return errorDiffusionDithering(img, palette, FLOYD_STEINBERG);
     }
 
-    public static byte[] floydSteinbergDithering(BufferedImage img) {
-        return errorDiffusionDithering(img, FLOYD_STEINBERG);
+    public static byte[] atkinsonDithering(BufferedImage img) {
+        return atkinsonDithering(img, DitheringType.getPaletteLookupTable());
     }
 
-    public static byte[] atkinsonDithering(BufferedImage img) {
-        return errorDiffusionDithering(img, ATKINSON);
+    public static byte[] atkinsonDithering(BufferedImage img, PaletteLookupTable palette) {
+        return errorDiffusionDithering(img, palette, ATKINSON);
     }
 
     public static byte[] sierraLiteDithering(BufferedImage img) {
-        return errorDiffusionDithering(img, SIERRA_LITE);
+        return sierraLiteDithering(img, DitheringType.getPaletteLookupTable());
+    }
+
+    public static byte[] sierraLiteDithering(BufferedImage img, PaletteLookupTable palette) {
+        return errorDiffusionDithering(img, palette, SIERRA_LITE);
     }
 
     public static byte[] orderedBayer4x4Dithering(BufferedImage img) {
-        return orderedBayerDithering(img, BAYER_4X4);
+        return orderedBayer4x4Dithering(img, DitheringType.getPaletteLookupTable());
     }
 
-    public static byte[] orderedBayer8x8Dithering(BufferedImage img) {
-        return orderedBayerDithering(img, BAYER_8X8);
+    public static byte[] orderedBayer4x4Dithering(BufferedImage img, PaletteLookupTable palette) {
+        return orderedBayerDithering(img, palette, BAYER_4X4);
     }
 
-    private static byte[] errorDiffusionDithering(BufferedImage img, Diffusion[] diffusions) {
-        int w = img.getWidth();
-        int h = img.getHeight();
+    public static byte[] orderedBayer8x8Dithering(BufferedImage img) {
+        return orderedBayer8x8Dithering(img, DitheringType.getPaletteLookupTable());
+    }
 
-        RGB[][] d = new RGB[h][w];
+    public static byte[] orderedBayer8x8Dithering(BufferedImage img, PaletteLookupTable palette) {
+        return orderedBayerDithering(img, palette, BAYER_8X8);
+    }
 
+    public static int applyTemporalCoherence(BufferedImage previousImage, byte[] previousColors, BufferedImage image, byte[] colors) {
+        IntArgbPixels previousPixels = IntArgbPixels.of(previousImage);
+        IntArgbPixels pixels = IntArgbPixels.of(image);
+        int w = pixels.getWidth();
+        int h = pixels.getHeight();
+        if (previousPixels.getWidth() != w || previousPixels.getHeight() != h) {
+            throw new IllegalArgumentException("Images must have the same dimensions");
+        }
+        int[] previousData = previousPixels.getData();
+        int[] data = pixels.getData();
+        int retained = 0;
         for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                d[y][x] = new RGB(new Color(img.getRGB(x, y), true));
+            int previousOffset = previousPixels.getOffset(0, y);
+            int offset = pixels.getOffset(0, y);
+            int index = y * w;
+            for (int x = 0; x < w; x++, index++) {
+                if (previousData[previousOffset + x] == data[offset + x]) {
+                    colors[index] = previousColors[index];
+                    retained++;
+                }
             }
         }
+        return retained;
+    }
 
-        byte[] result = new byte[w * h];
-        for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                RGB oldColor = d[y][x];
-                if (oldColor.isTransparent()) {
+    private static byte[] errorDiffusionDithering(BufferedImage img, PaletteLookupTable palette, Diffusion[] diffusions) {
+        IntArgbPixels pixels = IntArgbPixels.of(img);
+        int w = pixels.getWidth();
+        int h = pixels.getHeight();
+        ForkJoinPool pool = getForkJoinPool();
+        if (pool == null || w < PARALLEL_ERROR_DIFFUSION_MIN_WIDTH || h < 2) {
+            ErrorDiffusionKernel kernel = new ErrorDiffusionKernel(pixels, palette, diffusions, 1);
+            for (int y = 0; y < h; y++) {
+                kernel.startRow(y);
+                kernel.ditherRow(y, 0, w);
+            }
+            return kernel.getResult();
+        }
+        int workers = Math.min(pool.getParallelism(), h);
+        ErrorDiffusionKernel kernel = new ErrorDiffusionKernel(pixels, palette, diffusions, workers);
+        AtomicInteger nextRow = new AtomicInteger();
+        AtomicIntegerArray progress = new AtomicIntegerArray(h);
+        List<ErrorDiffusionWavefrontTask> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(new ErrorDiffusionWavefrontTask(kernel, nextRow, progress));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return kernel.getResult();
+    }
+
+    private static class ErrorDiffusionKernel {
+
+        private final IntArgbPixels pixels;
+        private final PaletteLookupTable palette;
+        private final Diffusion[] diffusions;
+        private final int lookahead;
+        private final int lag;
+        private final double[][] d;
+        private final byte[] result;
+        private volatile boolean aborted;
+
+        public ErrorDiffusionKernel(IntArgbPixels pixels, PaletteLookupTable palette, Diffusion[] diffusions, int concurrentRows) {
+            this.pixels = pixels;
+            this.palette = palette;
+            this.diffusions = diffusions;
+            int lookahead = 0;
+            int sameRowReach = 0;
+            int previousRowReach = 0;
+            for (Diffusion diffusion : diffusions) {
+                lookahead = Math.max(lookahead, diffusion.y);
+                if (diffusion.y == 0) {
+                    sameRowReach = Math.max(sameRowReach, diffusion.x);
+                } else {
+                    previousRowReach = Math.max(previousRowReach, -diffusion.x);
+                }
+            }
+            this.lookahead = lookahead;
+            this.lag = sameRowReach + previousRowReach + 1;
+            this.d = new double[concurrentRows + lookahead][pixels.getWidth() * 3];
+            this.result = new byte[pixels.getWidth() * pixels.getHeight()];
+            this.aborted = false;
+            for (int y = 0; y < lookahead && y < pixels.getHeight(); y++) {
+                loadRow(y);
+            }
+        }
+
+        public byte[] getResult() {
+            return result;
+        }
+
+        public void startRow(int y) {
+            if (y + lookahead < pixels.getHeight()) {
+                loadRow(y + lookahead);
+            }
+        }
+
+        private void loadRow(int y) {
+            int[] data = pixels.getData();
+            int offset = pixels.getOffset(0, y);
+            double[] row = d[y % d.length];
+            for (int x = 0, i = 0; x < pixels.getWidth(); x++, i += 3) {
+                int pixel = data[offset + x];
+                row[i] = (pixel >> 16) & 0xFF;
+                row[i + 1] = (pixel >> 8) & 0xFF;
+                row[i + 2] = pixel & 0xFF;
+            }
+        }
+
+        public void ditherRow(int y, int fromX, int toX) {
+            int[] data = pixels.getData();
+            int w = pixels.getWidth();
+            int h = pixels.getHeight();
+            double[] row = d[y % d.length];
+            int offset = pixels.getOffset(0, y);
+            for (int x = fromX; x < toX; x++) {
+                if ((data[offset + x] >>> 24) < 128) {
                     result[y * w + x] = MapUtils.PALETTE_TRANSPARENT;
                 } else {
-                    RGB quantizedInput = oldColor.clamp();
-                    byte mapColor = toMapColor(quantizedInput);
-                    RGB newColor = toRGB(mapColor);
+                    int i = x * 3;
+                    double r = clampColor(row[i]);
+                    double g = clampColor(row[i + 1]);
+                    double b = clampColor(row[i + 2]);
+                    byte mapColor = palette.matchColor(toColorInt(r), toColorInt(g), toColorInt(b));
                     result[y * w + x] = mapColor;
-                    RGB err = quantizedInput.sub(newColor);
+                    double errR = r - palette.getRed(mapColor);
+                    double errG = g - palette.getGreen(mapColor);
+                    double errB = b - palette.getBlue(mapColor);
                     for (Diffusion diffusion : diffusions) {
                         int targetX = x + diffusion.x;
                         int targetY = y + diffusion.y;
-                        if (targetX >= 0 && targetX < w && targetY >= 0 && targetY < h) {
-                            d[targetY][targetX] = d[targetY][targetX].add(err.mul(diffusion.weight));
+                        if (targetX >= 0 && targetX < w && targetY < h) {
+                            double[] targetRow = d[targetY % d.length];
+                            int j = targetX * 3;
+                            targetRow[j] += diffusion.weight * errR;
+                            targetRow[j + 1] += diffusion.weight * errG;
+                            targetRow[j + 2] += diffusion.weight * errB;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static class ErrorDiffusionWavefrontTask extends RecursiveAction {
+
+        private final ErrorDiffusionKernel kernel;
+        private final AtomicInteger nextRow;
+        private final AtomicIntegerArray progress;
+
+        public ErrorDiffusionWavefrontTask(ErrorDiffusionKernel kernel, AtomicInteger nextRow, AtomicIntegerArray progress) {
+            this.kernel = kernel;
+            this.nextRow = nextRow;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            int w = kernel.pixels.getWidth();
+            int h = kernel.pixels.getHeight();
+            try {
+                int y;
+                while ((y = nextRow.getAndIncrement()) < h) {
+                    kernel.startRow(y);
+                    for (int x = 0; x < w; x += WAVEFRONT_CHUNK_WIDTH) {
+                        int toX = Math.min(w, x + WAVEFRONT_CHUNK_WIDTH);
+                        if (y > 0) {
+                            int required = Math.min(w, toX - 1 + kernel.lag);
+                            while (progress.get(y - 1) < required) {
+                                if (kernel.aborted) {
+                                    throw new CancellationException();
+                                }
+                                Thread.yield();
+                            }
                         }
+                        kernel.ditherRow(y, x, toX);
+                        progress.set(y, toX);
                     }
                 }
+            } catch (Throwable e) {
+                kernel.aborted = true;
+                throw e;
             }
         }
+    }
 
+    private static byte[] orderedBayerDithering(BufferedImage img, PaletteLookupTable palette, int[][] matrix) {
+        IntArgbPixels pixels = IntArgbPixels.of(img);
+        byte[] result = new byte[pixels.getWidth() * pixels.getHeight()];
+        ForkJoinPool pool = getForkJoinPool();
+        if (pool == null || pixels.getHeight() <= PARALLEL_BAND_HEIGHT) {
+            orderedBayerDithering(pixels, palette, matrix, result, 0, pixels.getHeight());
+        } else {
+            pool.invoke(new OrderedBayerDitheringTask(pixels, palette, matrix, result, 0, pixels.getHeight()));
+        }
         return result;
     }
 
-    private static byte[] orderedBayerDithering(BufferedImage img, int[][] matrix) {
-        int w = img.getWidth();
-        int h = img.getHeight();
+    private static void orderedBayerDithering(IntArgbPixels pixels, PaletteLookupTable palette, int[][] matrix, byte[] result, int fromY, int toY) {
+        int[] data = pixels.getData();
+        int w = pixels.getWidth();
         int matrixSize = matrix.length;
         int matrixArea = matrixSize * matrixSize;
 
-        byte[] result = new byte[w * h];
-        for (int y = 0; y < h; y++) {
+        for (int y = fromY; y < toY; y++) {
+            int offset = pixels.getOffset(0, y);
             for (int x = 0; x < w; x++) {
-                RGB color = new RGB(new Color(img.getRGB(x, y), true));
-                if (color.isTransparent()) {
+                int pixel = data[offset + x];
+                if ((pixel >>> 24) < 128) {
                     result[y * w + x] = MapUtils.PALETTE_TRANSPARENT;
                 } else {
-                    double threshold = ((matrix[y % matrixSize][x % matrixSize] + 0.5) / matrixArea) - 0.5;
-                    result[y * w + x] = toMapColor(color.add(threshold * BAYER_STRENGTH).clamp());
+                    double threshold = (((matrix[y % matrixSize][x % matrixSize] + 0.5) / matrixArea) - 0.5) * BAYER_STRENGTH;
+                    int r = toColorInt(((pixel >> 16) & 0xFF) + threshold);
+                    int g = toColorInt(((pixel >> 8) & 0xFF) + threshold);
+                    int b = toColorInt((pixel & 0xFF) + threshold);
+                    result[y * w + x] = palette.matchColor(r, g, b);
                 }
             }
         }
+    }
 
-        return result;
+    private static class OrderedBayerDitheringTask extends RecursiveAction {
+
+        private final IntArgbPixels pixels;
+        private final PaletteLookupTable palette;
+        private final int[][] matrix;
+        private final byte[] result;
+        private final int fromY;
+        private final int toY;
+
+        public OrderedBayerDitheringTask(IntArgbPixels pixels, PaletteLookupTable palette, int[][] matrix, byte[] result, int fromY, int toY) {
+            this.pixels = pixels;
+            this.palette = palette;
+            this.matrix = matrix;
+            this.result = result;
+            this.fromY = fromY;
+            this.toY = toY;
+        }
+
+        @Override
+        protected void compute() {
+            if (toY - fromY <= PARALLEL_BAND_HEIGHT) {
+                orderedBayerDithering(pixels, palette, matrix, result, fromY, toY);
+            } else {
+                int middleY = (fromY + toY) >>> 1;
+                invokeAll(new OrderedBayerDitheringTask(pixels, palette, matrix, result, fromY, middleY), new OrderedBayerDitheringTask(pixels, palette, matrix, result, middleY, toY));
+            }
+        }
     }
 
 }
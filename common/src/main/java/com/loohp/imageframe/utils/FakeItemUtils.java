@@ -36,9 +36,7 @@ public class FakeItemUtils {
             packets.add(NMS.getInstance().createItemFrameItemChangePacket(itemFrameUpdateData.getEntityId(), itemFrameUpdateData.getItemStack()));
         }
         if (player.isOnline()) {
-            for (Object packet : packets) {
-                NMS.getInstance().sendPacket(player, packet);
-            }
+            NMS.getInstance().sendPackets(player, packets);
         }
     }
 
@@ -56,13 +54,19 @@ public class FakeItemUtils {
         private final int realMapId;
         private final MapView mapView;
         private final int currentPosition;
+        private final int displayedMapId;
 
-        public ItemFrameUpdateData(int entityId, ItemStack itemStack, int realMapId, MapView mapView, int currentPosition) {
+        public ItemFrameUpdateData(int entityId, ItemStack itemStack, int realMapId, MapView mapView, int currentPosition, int displayedMapId) {
             this.entityId = entityId;
             this.itemStack = itemStack;
             this.realMapId = realMapId;
             this.mapView = mapView;
             this.currentPosition = currentPosition;
+            this.displayedMapId = displayedMapId;
+        }
+
+        public ItemFrameUpdateData(int entityId, ItemStack itemStack, int realMapId, MapView mapView, int currentPosition) {
+            this(entityId, itemStack, realMapId, mapView, currentPosition, realMapId);
         }
 
         public int getEntityId() {
@@ -84,6 +88,10 @@ public class FakeItemUtils {
         public int getCurrentPosition() {
             return currentPosition;
         }
+
+        public int getDisplayedMapId() {
+            return displayedMapId;
+        }
     }
 
 }
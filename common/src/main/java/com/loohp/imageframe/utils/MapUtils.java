@@ -28,6 +28,7 @@ import com.loohp.imageframe.objectholders.CombinedMapItemInfo;
 import com.loohp.imageframe.objectholders.DitheringType;
 import com.loohp.imageframe.objectholders.ImageMap;
 import com.loohp.imageframe.objectholders.ImageMapHitTargetResult;
+import com.loohp.imageframe.objectholders.IntArgbPixels;
 import com.loohp.imageframe.objectholders.IntPosition;
 import com.loohp.imageframe.objectholders.MapPacketSentCallback;
 import com.loohp.imageframe.objectholders.MutablePair;
@@ -58,7 +59,6 @@ import org.bukkit.util.RayTraceResult;
 import org.bukkit.util.Vector;
 
 import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.Arrays;
@@ -186,20 +186,15 @@ public class MapUtils {
         return getSubImage(source, x, y, MAP_WIDTH);
     }
 
-    @SuppressWarnings("SuspiciousNameCombination")
     public static BufferedImage getSubImage(BufferedImage source, int x, int y, int mapWidth) {
+        IntArgbPixels sourcePixels = IntArgbPixels.of(source);
+        IntArgbPixels pixels = IntArgbPixels.create(mapWidth, mapWidth);
         int startX = x * mapWidth;
         int startY = y * mapWidth;
-        int width = source.getWidth() - startX;
-        int height = source.getHeight() - startY;
-        if (width < mapWidth || height < mapWidth) {
-            BufferedImage image = new BufferedImage(mapWidth, mapWidth, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g = image.createGraphics();
-            g.drawImage(source.getSubimage(startX, startY, width, height), 0, 0, null);
-            g.dispose();
-            return image;
-        }
-        return source.getSubimage(startX, startY, mapWidth, mapWidth);
+        int width = Math.min(mapWidth, sourcePixels.getWidth() - startX);
+        int height = Math.min(mapWidth, sourcePixels.getHeight() - startY);
+        sourcePixels.copyTo(startX, startY, pixels, 0, 0, width, height);
+        return pixels.getImage();
     }
 
     public static boolean areImagesEqual(BufferedImage img1, BufferedImage img2) {
@@ -212,14 +207,7 @@ public class MapUtils {
         if (img1.getWidth() != img2.getWidth() || img1.getHeight() != img2.getHeight()) {
             return false;
         }
-        for (int x = 0; x < img1.getWidth(); x++) {
-            for (int y = 0; y < img1.getHeight(); y++) {
-                if (img1.getRGB(x, y) != img2.getRGB(x, y)) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return IntArgbPixels.of(img1).contentEquals(IntArgbPixels.of(img2));
     }
 
     public static MapView getItemMapView(ItemStack itemStack) {
@@ -240,6 +228,15 @@ public class MapUtils {
         return mapMeta.getMapView();
     }
 
+    @SuppressWarnings("deprecation")
+    public static ItemStack getFakeMapItem(int mapId) {
+        ItemStack itemStack = new ItemStack(Material.FILLED_MAP);
+        MapMeta mapMeta = (MapMeta) itemStack.getItemMeta();
+        mapMeta.setMapId(mapId);
+        itemStack.setItemMeta(mapMeta);
+        return itemStack;
+    }
+
     public static MapView getPlayerMapView(Player player) {
         return getItemMapView(player.getEquipment().getItemInMainHand());
     }
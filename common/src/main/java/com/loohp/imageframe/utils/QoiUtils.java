@@ -0,0 +1,225 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public class QoiUtils {
+
+    public static final byte[] MAGIC = {'q', 'o', 'i', 'f'};
+
+    private static final int HEADER_SIZE = 14;
+    private static final byte[] PADDING = {0, 0, 0, 0, 0, 0, 0, 1};
+    private static final int MAX_PIXELS = 400000000;
+
+    private static final int OP_INDEX = 0x00;
+    private static final int OP_DIFF = 0x40;
+    private static final int OP_LUMA = 0x80;
+    private static final int OP_RUN = 0xC0;
+    private static final int OP_RGB = 0xFE;
+    private static final int OP_RGBA = 0xFF;
+    private static final int MASK = 0xC0;
+
+    public static boolean isQoi(byte[] header) {
+        if (header.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(int argb) {
+        int a = argb >>> 24;
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        return (r * 3 + g * 5 + b * 7 + a * 11) & 63;
+    }
+
+    public static byte[] encode(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        byte[] bytes = new byte[HEADER_SIZE + pixels.length * 5 + PADDING.length];
+        System.arraycopy(MAGIC, 0, bytes, 0, MAGIC.length);
+        writeInt(bytes, 4, width);
+        writeInt(bytes, 8, height);
+        bytes[12] = 4;
+        bytes[13] = 0;
+        int p = HEADER_SIZE;
+        int[] index = new int[64];
+        int previous = 0xFF000000;
+        int run = 0;
+        for (int i = 0; i < pixels.length; i++) {
+            int pixel = pixels[i];
+            if (pixel == previous) {
+                run++;
+                if (run == 62 || i == pixels.length - 1) {
+                    bytes[p++] = (byte) (OP_RUN | (run - 1));
+                    run = 0;
+                }
+                continue;
+            }
+            if (run > 0) {
+                bytes[p++] = (byte) (OP_RUN | (run - 1));
+                run = 0;
+            }
+            int hash = hash(pixel);
+            if (index[hash] == pixel) {
+                bytes[p++] = (byte) (OP_INDEX | hash);
+            } else {
+                index[hash] = pixel;
+                if ((pixel >>> 24) == (previous >>> 24)) {
+                    int vr = (byte) ((pixel >> 16) - (previous >> 16));
+                    int vg = (byte) ((pixel >> 8) - (previous >> 8));
+                    int vb = (byte) (pixel - previous);
+                    int vgr = vr - vg;
+                    int vgb = vb - vg;
+                    if (vr > -3 && vr < 2 && vg > -3 && vg < 2 && vb > -3 && vb < 2) {
+                        bytes[p++] = (byte) (OP_DIFF | (vr + 2) << 4 | (vg + 2) << 2 | (vb + 2));
+                    } else if (vgr > -9 && vgr < 8 && vg > -33 && vg < 32 && vgb > -9 && vgb < 8) {
+                        bytes[p++] = (byte) (OP_LUMA | (vg + 32));
+                        bytes[p++] = (byte) ((vgr + 8) << 4 | (vgb + 8));
+                    } else {
+                        bytes[p++] = (byte) OP_RGB;
+                        bytes[p++] = (byte) (pixel >> 16);
+                        bytes[p++] = (byte) (pixel >> 8);
+                        bytes[p++] = (byte) pixel;
+                    }
+                } else {
+                    bytes[p++] = (byte) OP_RGBA;
+                    bytes[p++] = (byte) (pixel >> 16);
+                    bytes[p++] = (byte) (pixel >> 8);
+                    bytes[p++] = (byte) pixel;
+                    bytes[p++] = (byte) (pixel >>> 24);
+                }
+            }
+            previous = pixel;
+        }
+        System.arraycopy(PADDING, 0, bytes, p, PADDING.length);
+        p += PADDING.length;
+        byte[] result = new byte[p];
+        System.arraycopy(bytes, 0, result, 0, p);
+        return result;
+    }
+
+    public static void write(BufferedImage image, OutputStream outputStream) throws IOException {
+        outputStream.write(encode(image));
+    }
+
+    public static BufferedImage decode(byte[] bytes) throws IOException {
+        if (bytes.length < HEADER_SIZE + PADDING.length || !isQoi(bytes)) {
+            throw new IOException("Not a QOI image");
+        }
+        int width = readInt(bytes, 4);
+        int height = readInt(bytes, 8);
+        if (width <= 0 || height <= 0 || (long) width * height > MAX_PIXELS) {
+            throw new IOException("Invalid QOI image dimensions " + width + "x" + height);
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int[] index = new int[64];
+        int pixel = 0xFF000000;
+        int end = bytes.length - PADDING.length;
+        int p = HEADER_SIZE;
+        int i = 0;
+        try {
+            while (i < pixels.length) {
+                if (p >= end) {
+                    throw new IOException("Unexpected end of QOI image");
+                }
+                int b1 = bytes[p++] & 0xFF;
+                if (b1 == OP_RGB) {
+                    pixel = (pixel & 0xFF000000) | (bytes[p++] & 0xFF) << 16 | (bytes[p++] & 0xFF) << 8 | (bytes[p++] & 0xFF);
+                } else if (b1 == OP_RGBA) {
+                    pixel = (bytes[p++] & 0xFF) << 16 | (bytes[p++] & 0xFF) << 8 | (bytes[p++] & 0xFF) | (bytes[p++] & 0xFF) << 24;
+                } else {
+                    switch (b1 & MASK) {
+                        case OP_INDEX: {
+                            pixel = index[b1];
+                            pixels[i++] = pixel;
+                            continue;
+                        }
+                        case OP_DIFF: {
+                            int r = ((pixel >> 16) + ((b1 >> 4) & 0x03) - 2) & 0xFF;
+                            int g = ((pixel >> 8) + ((b1 >> 2) & 0x03) - 2) & 0xFF;
+                            int b = (pixel + (b1 & 0x03) - 2) & 0xFF;
+                            pixel = (pixel & 0xFF000000) | r << 16 | g << 8 | b;
+                            break;
+                        }
+                        case OP_LUMA: {
+                            int b2 = bytes[p++] & 0xFF;
+                            int vg = (b1 & 0x3F) - 32;
+                            int r = ((pixel >> 16) + vg - 8 + ((b2 >> 4) & 0x0F)) & 0xFF;
+                            int g = ((pixel >> 8) + vg) & 0xFF;
+                            int b = (pixel + vg - 8 + (b2 & 0x0F)) & 0xFF;
+                            pixel = (pixel & 0xFF000000) | r << 16 | g << 8 | b;
+                            break;
+                        }
+                        default: {
+                            int run = Math.min((b1 & 0x3F) + 1, pixels.length - i);
+                            for (int u = 0; u < run; u++) {
+                                pixels[i++] = pixel;
+                            }
+                            continue;
+                        }
+                    }
+                }
+                index[hash(pixel)] = pixel;
+                pixels[i++] = pixel;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Unexpected end of QOI image", e);
+        }
+        return image;
+    }
+
+    public static BufferedImage read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) >= 0) {
+            outputStream.write(buffer, 0, read);
+        }
+        return decode(outputStream.toByteArray());
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16 | (bytes[offset + 2] & 0xFF) << 8 | (bytes[offset + 3] & 0xFF);
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.imageframe.objectholders;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DeltaAnimationFrameStoreTest {
+
+    private static final long SEED = 130013;
+    private static final int FRAME_SIZE = 128 * 128;
+
+    private static byte[][] createFrames(Random random, int count) {
+        byte[][] frames = new byte[count][];
+        byte[] previous = null;
+        for (int i = 0; i < count; i++) {
+            byte[] frame;
+            switch (i % 4) {
+                case 0:
+                    frame = new byte[FRAME_SIZE];
+                    random.nextBytes(frame);
+                    break;
+                case 1:
+                    frame = previous.clone();
+                    for (int u = 0; u < 200; u++) {
+                        frame[random.nextInt(FRAME_SIZE)] = (byte) random.nextInt(256);
+                    }
+                    break;
+                case 2:
+                    frame = previous.clone();
+                    break;
+                default:
+                    frame = new byte[FRAME_SIZE];
+                    for (int u = 0; u < FRAME_SIZE; u += 97) {
+                        frame[u] = (byte) u;
+                    }
+                    break;
+            }
+            frames[i] = frame;
+            previous = frame;
+        }
+        return frames;
+    }
+
+    @Test
+    public void testXorRoundTrip() {
+        Random random = new Random(SEED);
+        byte[][] frames = createFrames(random, 8);
+        byte[] previous = null;
+        for (byte[] frame : frames) {
+            byte[] decoded = previous == null ? new byte[FRAME_SIZE] : previous.clone();
+            DeltaAnimationFrameStore.decodeXor(DeltaAnimationFrameStore.encodeXor(frame, previous), decoded);
+            assertArrayEquals(frame, decoded);
+            previous = frame;
+        }
+        byte[] runs = new byte[37];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = (byte) (i < 3 ? i : i < 20 ? -1 : i % 5 == 0 ? 7 : i);
+        }
+        byte[] decoded = new byte[runs.length];
+        DeltaAnimationFrameStore.decodeXor(DeltaAnimationFrameStore.encodeXor(runs, null), decoded);
+        assertArrayEquals(runs, decoded);
+    }
+
+    @Test
+    public void testFramesAcrossKeyframes() {
+        Random random = new Random(SEED);
+        byte[][][] frames = {createFrames(random, 37), null, createFrames(random, 5)};
+        frames[0][10] = null;
+        frames[0][11] = null;
+        for (int keyframeInterval : new int[] {1, 4, DeltaAnimationFrameStore.DEFAULT_KEYFRAME_INTERVAL}) {
+            DeltaAnimationFrameStore store = new DeltaAnimationFrameStore(frames, FRAME_SIZE, keyframeInterval);
+            for (int tile = 0; tile < frames.length; tile++) {
+                if (frames[tile] == null) {
+                    continue;
+                }
+                for (int frame = 0; frame < frames[tile].length; frame++) {
+                    assertArrayEquals(frames[tile][frame], store.getFrame(tile, frame), "sequential " + keyframeInterval + " " + tile + " " + frame);
+                }
+                for (int frame = frames[tile].length - 1; frame >= 0; frame--) {
+                    assertArrayEquals(frames[tile][frame], store.getFrame(tile, frame), "reverse " + keyframeInterval + " " + tile + " " + frame);
+                }
+                for (int i = 0; i < 100; i++) {
+                    int frame = random.nextInt(frames[tile].length);
+                    assertArrayEquals(frames[tile][frame], store.getFrame(tile, frame), "random " + keyframeInterval + " " + tile + " " + frame);
+                }
+            }
+            assertNull(store.getFrame(0, 10));
+            byte[][][] array = store.toArray();
+            for (int tile = 0; tile < frames.length; tile++) {
+                if (frames[tile] != null) {
+                    for (int frame = 0; frame < frames[tile].length; frame++) {
+                        assertArrayEquals(frames[tile][frame], array[tile][frame]);
+                    }
+                }
+            }
+        }
+    }
+
+}
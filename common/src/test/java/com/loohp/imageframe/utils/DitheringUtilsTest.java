@@ -0,0 +1,273 @@
+/*
+ * This file is part of ImageFrame.
+ *
+ * Copyright (C) 2025. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2025. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.loohp.imageframe.utils;
+
+import com.loohp.imageframe.objectholders.PaletteLookupTable;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class DitheringUtilsTest {
+
+    private static final long SEED = 106031;
+
+    private static final double[][] FLOYD_STEINBERG = {{1, 0, 7.0 / 16}, {-1, 1, 3.0 / 16}, {0, 1, 5.0 / 16}, {1, 1, 1.0 / 16}};
+    private static final double[][] ATKINSON = {{1, 0, 1.0 / 8}, {2, 0, 1.0 / 8}, {-1, 1, 1.0 / 8}, {0, 1, 1.0 / 8}, {1, 1, 1.0 / 8}, {0, 2, 1.0 / 8}};
+    private static final double[][] SIERRA_LITE = {{1, 0, 2.0 / 4}, {-1, 1, 1.0 / 4}, {0, 1, 1.0 / 4}};
+
+    private static PaletteLookupTable createPalette() {
+        Random random = new Random(SEED);
+        int[] colors = new int[64];
+        for (int i = 4; i < colors.length; i++) {
+            colors[i] = 0xFF000000 | random.nextInt(0x1000000);
+        }
+        colors[4] = 0xFF000000;
+        colors[5] = 0xFFFFFFFF;
+        return new PaletteLookupTable(colors);
+    }
+
+    private static List<BufferedImage> createImages() {
+        List<BufferedImage> images = new ArrayList<>();
+        Random random = new Random(SEED);
+        BufferedImage noise = new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < noise.getHeight(); y++) {
+            for (int x = 0; x < noise.getWidth(); x++) {
+                int alpha = random.nextInt(10) == 0 ? random.nextInt(256) : 255;
+                noise.setRGB(x, y, (alpha << 24) | random.nextInt(0x1000000));
+            }
+        }
+        images.add(noise);
+        BufferedImage gradient = new BufferedImage(131, 67, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < gradient.getHeight(); y++) {
+            for (int x = 0; x < gradient.getWidth(); x++) {
+                int red = x * 255 / (gradient.getWidth() - 1);
+                int green = y * 255 / (gradient.getHeight() - 1);
+                int blue = (x ^ y) & 0xFF;
+                gradient.setRGB(x, y, 0xFF000000 | (red << 16) | (green << 8) | blue);
+            }
+        }
+        images.add(gradient);
+        BufferedImage rgb = new BufferedImage(64, 48, BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < rgb.getHeight(); y++) {
+            for (int x = 0; x < rgb.getWidth(); x++) {
+                rgb.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        images.add(rgb);
+        BufferedImage column = new BufferedImage(1, 97, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < column.getHeight(); y++) {
+            column.setRGB(0, y, (y % 13 == 0 ? 0 : 0xFF000000) | random.nextInt(0x1000000));
+        }
+        images.add(column);
+        BufferedImage row = new BufferedImage(97, 1, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < row.getWidth(); x++) {
+            row.setRGB(x, 0, 0xFF000000 | random.nextInt(0x1000000));
+        }
+        images.add(row);
+        return images;
+    }
+
+    private static List<BufferedImage> createWideImages() {
+        List<BufferedImage> images = new ArrayList<>();
+        Random random = new Random(SEED);
+        BufferedImage noise = new BufferedImage(1131, 37, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < noise.getHeight(); y++) {
+            for (int x = 0; x < noise.getWidth(); x++) {
+                int alpha = random.nextInt(10) == 0 ? random.nextInt(256) : 255;
+                noise.setRGB(x, y, (alpha << 24) | random.nextInt(0x1000000));
+            }
+        }
+        images.add(noise);
+        BufferedImage gradient = new BufferedImage(1088, 19, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < gradient.getHeight(); y++) {
+            for (int x = 0; x < gradient.getWidth(); x++) {
+                int red = x * 255 / (gradient.getWidth() - 1);
+                int green = y * 255 / (gradient.getHeight() - 1);
+                int blue = (x ^ y) & 0xFF;
+                gradient.setRGB(x, y, 0xFF000000 | (red << 16) | (green << 8) | blue);
+            }
+        }
+        images.add(gradient);
+        return images;
+    }
+
+    private static void assertMatchesLegacy(BiFunction<BufferedImage, PaletteLookupTable, byte[]> dithering, double[][] diffusions) {
+        PaletteLookupTable palette = createPalette();
+        for (BufferedImage image : createImages()) {
+            String message = image.getWidth() + "x" + image.getHeight() + " type " + image.getType();
+            assertArrayEquals(legacyErrorDiffusionDithering(image, palette, diffusions), dithering.apply(image, palette), message);
+        }
+    }
+
+    private static void assertWavefrontMatchesSequential(BiFunction<BufferedImage, PaletteLookupTable, byte[]> dithering) {
+        PaletteLookupTable palette = createPalette();
+        List<BufferedImage> images = createWideImages();
+        try {
+            DitheringUtils.setParallelism(1);
+            List<byte[]> expected = new ArrayList<>();
+            for (BufferedImage image : images) {
+                expected.add(dithering.apply(image, palette));
+            }
+            DitheringUtils.setParallelism(4);
+            for (int i = 0; i < images.size(); i++) {
+                BufferedImage image = images.get(i);
+                String message = image.getWidth() + "x" + image.getHeight() + " type " + image.getType();
+                assertArrayEquals(expected.get(i), dithering.apply(image, palette), message);
+            }
+        } finally {
+            DitheringUtils.setParallelism(0);
+        }
+    }
+
+    @Test
+    public void testFloydSteinbergMatchesLegacy() {
+        assertMatchesLegacy(DitheringUtils::floydSteinbergDithering, FLOYD_STEINBERG);
+    }
+
+    @Test
+    public void testAtkinsonMatchesLegacy() {
+        assertMatchesLegacy(DitheringUtils::atkinsonDithering, ATKINSON);
+    }
+
+    @Test
+    public void testSierraLiteMatchesLegacy() {
+        assertMatchesLegacy(DitheringUtils::sierraLiteDithering, SIERRA_LITE);
+    }
+
+    @Test
+    public void testFloydSteinbergWavefrontMatchesSequential() {
+        assertWavefrontMatchesSequential(DitheringUtils::floydSteinbergDithering);
+    }
+
+    @Test
+    public void testAtkinsonWavefrontMatchesSequential() {
+        assertWavefrontMatchesSequential(DitheringUtils::atkinsonDithering);
+    }
+
+    @Test
+    public void testSierraLiteWavefrontMatchesSequential() {
+        assertWavefrontMatchesSequential(DitheringUtils::sierraLiteDithering);
+    }
+
+    private static byte[] legacyErrorDiffusionDithering(BufferedImage img, PaletteLookupTable palette, double[][] diffusions) {
+        int w = img.getWidth();
+        int h = img.getHeight();
+
+        RGB[][] d = new RGB[h][w];
+
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                d[y][x] = new RGB(new Color(img.getRGB(x, y), true));
+            }
+        }
+
+        byte[] result = new byte[w * h];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                RGB oldColor = d[y][x];
+                if (oldColor.isTransparent()) {
+                    result[y * w + x] = MapUtils.PALETTE_TRANSPARENT;
+                } else {
+                    RGB quantizedInput = oldColor.clamp();
+                    byte mapColor = palette.matchColor(quantizedInput.getRed(), quantizedInput.getGreen(), quantizedInput.getBlue());
+                    RGB newColor = new RGB(palette.getRed(mapColor), palette.getGreen(mapColor), palette.getBlue(mapColor), false);
+                    result[y * w + x] = mapColor;
+                    RGB err = quantizedInput.sub(newColor);
+                    for (double[] diffusion : diffusions) {
+                        int targetX = x + (int) diffusion[0];
+                        int targetY = y + (int) diffusion[1];
+                        if (targetX >= 0 && targetX < w && targetY >= 0 && targetY < h) {
+                            d[targetY][targetX] = d[targetY][targetX].add(err.mul(diffusion[2]));
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static class RGB {
+
+        private final double r;
+        private final double g;
+        private final double b;
+        private final boolean transparent;
+
+        public RGB(Color color) {
+            this(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha() < 128);
+        }
+
+        public RGB(double r, double g, double b, boolean transparent) {
+            this.r = r;
+            this.g = g;
+            this.b = b;
+            this.transparent = transparent;
+        }
+
+        public RGB add(RGB o) {
+            return new RGB(r + o.r, g + o.g, b + o.b, transparent);
+        }
+
+        public RGB clamp() {
+            return new RGB(clampColor(r), clampColor(g), clampColor(b), transparent);
+        }
+
+        public RGB mul(double d) {
+            return new RGB(d * r, d * g, d * b, transparent);
+        }
+
+        public RGB sub(RGB o) {
+            return new RGB(r - o.r, g - o.g, b - o.b, transparent);
+        }
+
+        public int getRed() {
+            return toColorInt(r);
+        }
+
+        public int getGreen() {
+            return toColorInt(g);
+        }
+
+        public int getBlue() {
+            return toColorInt(b);
+        }
+
+        public boolean isTransparent() {
+            return transparent;
+        }
+
+        private static double clampColor(double c) {
+            return Math.max(0, Math.min(255, c));
+        }
+
+        private static int toColorInt(double c) {
+            return (int) Math.round(clampColor(c));
+        }
+    }
+
+}